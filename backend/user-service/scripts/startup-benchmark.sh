@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Startup-time benchmark for user-service.
+#
+# Starts the service RUNS times per mode, measures wall time until Spring logs "Started UserServiceApplication",
+# stops it, and appends one CSV row per run to target/startup-benchmark.csv so results can be compared across commits.
+#
+#   jar     executable jar            ./mvnw -DskipTests package
+#   cds     AppCDS archive            ./mvnw -Pcds -DskipTests package
+#   native  GraalVM native image      ./mvnw -Pnative -DskipTests native:compile
+#
+# The database from docker-compose.yml must be running. Usage: scripts/startup-benchmark.sh [runs] [mode...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+shift || true
+if (( $# > 0 )); then
+    MODES=("$@")
+else
+    MODES=(jar cds native)
+fi
+TIMEOUT_SECONDS=120
+RESULTS=target/startup-benchmark.csv
+REVISION="$(git rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+command_for() {
+    case "$1" in
+        jar)    echo "java -jar $(ls target/user-service-*.jar | grep -v -- '-cds' | head -n 1)" ;;
+        cds)    echo "java -XX:SharedArchiveFile=target/cds/application.jsa -Xlog:cds=error -jar target/cds/user-service-cds.jar" ;;
+        native) echo "target/user-service" ;;
+    esac
+}
+
+available() {
+    case "$1" in
+        jar)    ls target/user-service-*.jar 2>/dev/null | grep -qv -- '-cds' ;;
+        cds)    [[ -f target/cds/application.jsa && -f target/cds/user-service-cds.jar ]] ;;
+        native) [[ -x target/user-service ]] ;;
+        *)      return 1 ;;
+    esac
+}
+
+[[ -f "$RESULTS" ]] || echo "timestamp,revision,mode,run,wall_ms,reported_seconds" > "$RESULTS"
+
+for mode in "${MODES[@]}"; do
+    if ! available "$mode"; then
+        echo "skipping $mode: build artifact not found" >&2
+        continue
+    fi
+    for run in $(seq 1 "$RUNS"); do
+        log="$(mktemp)"
+        start=$(date +%s%N)
+        $(command_for "$mode") > "$log" 2>&1 &
+        pid=$!
+
+        reported=""
+        while kill -0 "$pid" 2>/dev/null; do
+            reported="$(grep -oE 'Started UserServiceApplication in [0-9.]+' "$log" | grep -oE '[0-9.]+$' || true)"
+            [[ -n "$reported" ]] && break
+            if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT_SECONDS )); then
+                break
+            fi
+            sleep 0.05
+        done
+        wall_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+
+        if [[ -z "$reported" ]]; then
+            echo "$mode run $run did not start; log: $log" >&2
+            exit 1
+        fi
+        rm -f "$log"
+        echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$REVISION,$mode,$run,$wall_ms,$reported" >> "$RESULTS"
+        echo "$mode run $run: ${wall_ms} ms (Spring reported ${reported} s)"
+    done
+done
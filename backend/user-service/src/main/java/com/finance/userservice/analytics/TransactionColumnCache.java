@@ -0,0 +1,237 @@
+package com.finance.userservice.analytics;
+
+import com.finance.userservice.cache.SingleFlight;
+import com.finance.userservice.config.ReplicaRoutingDataSource;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.repository.projection.TransactionRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Per-user TransactionColumns, loaded on first use and kept current by the transaction writers.
+// All snapshots together stay under analytics.cache.max-bytes (estimated heap size); the least
+// recently used user is evicted first. Changes are applied after commit, so readers never see
+// rows that could still roll back. Writes on other instances arrive through the InvalidationBus
+// and drop the user's snapshot; analytics.cache.ttl-seconds bounds how long a lost one can leave it stale.
+// Loads run in their own read-only transaction on the primary: a snapshot outlives the replica's lag,
+// and the write that evicted it may have been made on another instance, outside this one's sticky window.
+@Slf4j
+@Component
+public class TransactionColumnCache {
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final TransactionTemplate loadTransaction;
+    private final SingleFlight<Long, TransactionColumns> loads = new SingleFlight<>();
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Token of the load in flight per user; a change removes it so the (possibly stale) result is not installed
+    private final Map<Long, Object> pendingLoads = new HashMap<>();
+    private long bytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TransactionColumnCache(MeterRegistry meterRegistry,
+                                  InvalidationBus invalidationBus,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${analytics.cache.enabled:true}") boolean enabled,
+                                  @Value("${analytics.cache.max-bytes:67108864}") long maxBytes,
+                                  @Value("${analytics.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+
+        Gauge.builder("analytics.cache.bytes", this, TransactionColumnCache::bytes).register(meterRegistry);
+        Gauge.builder("analytics.cache.users", this, TransactionColumnCache::size).register(meterRegistry);
+        this.hits = Counter.builder("analytics.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("analytics.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("analytics.cache.evictions").register(meterRegistry);
+        if (enabled) {
+            invalidationBus.subscribe(InvalidationScope.TRANSACTIONS, this::remove, this::clear);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The loader runs on the caller's thread in a new transaction on the primary; concurrent misses for a
+    // user share one load. With the cache disabled it runs inside the caller's transaction, like any query.
+    public TransactionColumns get(Long userId, Supplier<TransactionColumns> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        synchronized (this) {
+            TransactionColumns cached = current(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        return loads.execute(userId, () -> {
+            Object token = new Object();
+            synchronized (this) {
+                // A load that finished just before this one started has already installed the snapshot
+                TransactionColumns cached = current(userId);
+                if (cached != null) {
+                    return cached;
+                }
+                pendingLoads.put(userId, token);
+            }
+            TransactionColumns loaded;
+            try {
+                loaded = ReplicaRoutingDataSource.onPrimary(() -> loadTransaction.execute(status -> loader.get()));
+            } catch (RuntimeException | Error ex) {
+                synchronized (this) {
+                    pendingLoads.remove(userId, token);
+                }
+                throw ex;
+            }
+            synchronized (this) {
+                if (pendingLoads.remove(userId, token)) {
+                    install(userId, new Entry(loaded, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+            return loaded;
+        });
+    }
+
+    // Applies the change to the user's snapshot once the surrounding transaction commits
+    public void transactionsChanged(Long userId, Collection<TransactionRow> upserts, Collection<Long> removedIds) {
+        if (!enabled || (upserts.isEmpty() && removedIds.isEmpty())) {
+            return;
+        }
+        afterCommit(() -> apply(userId, upserts, removedIds));
+    }
+
+    // For changes the writers cannot describe row by row (account deletion, recurring postings, archival)
+    public void evict(Long userId) {
+        if (enabled) {
+            afterCommit(() -> remove(userId));
+        }
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void apply(Long userId, Collection<TransactionRow> upserts, Collection<Long> removedIds) {
+        while (true) {
+            Entry base;
+            synchronized (this) {
+                pendingLoads.remove(userId);
+                base = entries.get(userId);
+            }
+            if (base == null) {
+                return;
+            }
+            // Rebuilt outside the lock; retried if another change replaced the snapshot meanwhile.
+            // Keeps the loaded snapshot's expiry: local changes say nothing about other instances' writes.
+            TransactionColumns changed;
+            try {
+                changed = base.columns().withChanges(upserts, removedIds);
+            } catch (RuntimeException ex) {
+                log.warn("Dropping analytics snapshot of user {}: {}", userId, ex.getMessage());
+                remove(userId);
+                return;
+            }
+            synchronized (this) {
+                if (entries.get(userId) == base) {
+                    entries.remove(userId);
+                    bytes -= base.columns().estimatedBytes();
+                    install(userId, new Entry(changed, base.expiresAt()));
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void remove(Long userId) {
+        pendingLoads.remove(userId);
+        Entry removed = entries.remove(userId);
+        if (removed != null) {
+            bytes -= removed.columns().estimatedBytes();
+        }
+    }
+
+    // Caller holds the lock. An expired snapshot is dropped here rather than by a sweep.
+    private TransactionColumns current(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(userId);
+            bytes -= entry.columns().estimatedBytes();
+            return null;
+        }
+        return entry.columns();
+    }
+
+    private synchronized void clear() {
+        pendingLoads.clear();
+        entries.clear();
+        bytes = 0;
+    }
+
+    // Caller holds the lock. A snapshot larger than the whole budget is served once but never kept.
+    private void install(Long userId, Entry entry) {
+        long entryBytes = entry.columns().estimatedBytes();
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(userId, entry);
+        bytes += entryBytes - (previous != null ? previous.columns().estimatedBytes() : 0);
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, Entry> evicted = eldest.next();
+            bytes -= evicted.getValue().columns().estimatedBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry(TransactionColumns columns, long expiresAt) {
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.finance.userservice.analytics;
+
+import com.finance.userservice.money.Money;
+import com.finance.userservice.repository.projection.TransactionRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable column-per-field snapshot of one user's transactions (archived and live). Analytics
+// loop over these arrays directly; changes produce a new snapshot, so a reader keeps a consistent
+// view for its whole computation. Categories and accounts are dictionary-encoded: a row holds an
+// int code (-1 = none), and group-bys index plain arrays by that code.
+public final class TransactionColumns {
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_OVERHEAD_BYTES = 56;
+
+    private final int size;
+    private final long[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;          // Minor units, see Money
+    private final byte[] types;            // TransactionType ordinal
+    private final int[] categoryCodes;
+    private final String[] categories;
+    private final int[] accountCodes;
+    private final long[] accounts;
+    private final long estimatedBytes;
+
+    private TransactionColumns(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.epochDays = Arrays.copyOf(builder.epochDays, size);
+        this.amounts = Arrays.copyOf(builder.amounts, size);
+        this.types = Arrays.copyOf(builder.types, size);
+        this.categoryCodes = Arrays.copyOf(builder.categoryCodes, size);
+        this.categories = builder.categories.toArray(new String[0]);
+        this.accountCodes = Arrays.copyOf(builder.accountCodes, size);
+        this.accounts = builder.accounts.stream().mapToLong(Long::longValue).toArray();
+
+        long bytes = 8L * ARRAY_HEADER_BYTES + (long) size * (8 + 4 + 8 + 1 + 4 + 4) + 8L * accounts.length;
+        for (String category : categories) {
+            bytes += STRING_OVERHEAD_BYTES + category.length();
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The arrays are shared, not copied: callers must treat them as read-only
+
+    public long[] ids() {
+        return ids;
+    }
+
+    public int[] epochDays() {
+        return epochDays;
+    }
+
+    public long[] amounts() {
+        return amounts;
+    }
+
+    public byte[] types() {
+        return types;
+    }
+
+    public int[] categoryCodes() {
+        return categoryCodes;
+    }
+
+    public String[] categories() {
+        return categories;
+    }
+
+    public int[] accountCodes() {
+        return accountCodes;
+    }
+
+    public long[] accounts() {
+        return accounts;
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    // New snapshot without removedIds and with upserts replacing or adding rows; one pass over the columns
+    public TransactionColumns withChanges(Collection<TransactionRow> upserts, Collection<Long> removedIds) {
+        long[] replaced = new long[upserts.size() + removedIds.size()];
+        int count = 0;
+        for (TransactionRow row : upserts) {
+            replaced[count++] = row.id();
+        }
+        for (Long id : removedIds) {
+            replaced[count++] = id;
+        }
+        Arrays.sort(replaced);
+
+        Builder builder = new Builder();
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(replaced, ids[i]) < 0) {
+                builder.add(ids[i], epochDays[i], amounts[i], types[i],
+                        categoryCodes[i] < 0 ? null : categories[categoryCodes[i]],
+                        accountCodes[i] < 0 ? null : accounts[accountCodes[i]]);
+            }
+        }
+        upserts.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static final class Builder {
+
+        private int size;
+        private long[] ids = new long[64];
+        private int[] epochDays = new int[64];
+        private long[] amounts = new long[64];
+        private byte[] types = new byte[64];
+        private int[] categoryCodes = new int[64];
+        private int[] accountCodes = new int[64];
+        private final List<String> categories = new ArrayList<>();
+        private final Map<String, Integer> categoryDictionary = new HashMap<>();
+        private final List<Long> accounts = new ArrayList<>();
+        private final Map<Long, Integer> accountDictionary = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(TransactionRow row) {
+            return add(row, row.category());
+        }
+
+        // With the category name replaced, e.g. by its canonical spelling for rows archived before categories existed
+        public Builder add(TransactionRow row, String category) {
+            return add(row.id(), (int) row.date().toLocalDate().toEpochDay(), Money.toMinorUnits(row.amount()),
+                    (byte) row.type().ordinal(), category, row.accountId());
+        }
+
+        private Builder add(long id, int epochDay, long amount, byte type, String category, Long accountId) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                types = Arrays.copyOf(types, capacity);
+                categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+                accountCodes = Arrays.copyOf(accountCodes, capacity);
+            }
+            ids[size] = id;
+            epochDays[size] = epochDay;
+            amounts[size] = amount;
+            types[size] = type;
+            categoryCodes[size] = category == null ? -1
+                    : categoryDictionary.computeIfAbsent(category, value -> {
+                        categories.add(value);
+                        return categories.size() - 1;
+                    });
+            accountCodes[size] = accountId == null ? -1
+                    : accountDictionary.computeIfAbsent(accountId, value -> {
+                        accounts.add(value);
+                        return accounts.size() - 1;
+                    });
+            size++;
+            return this;
+        }
+
+        public TransactionColumns build() {
+            return new TransactionColumns(this);
+        }
+    }
+}
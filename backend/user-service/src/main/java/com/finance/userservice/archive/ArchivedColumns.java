@@ -0,0 +1,22 @@
+package com.finance.userservice.archive;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// The numeric columns of one archive segment, decoded straight into primitive arrays for
+// aggregations: no TransactionRow, BigDecimal or LocalDateTime per row. Account ids stay
+// dictionary-encoded (accountCodes[i] indexes accounts, -1 = none), so callers resolve each
+// distinct account once per segment instead of once per row.
+public record ArchivedColumns(
+        int size,
+        long[] ids,
+        long[] accounts,
+        int[] accountCodes,
+        byte[] types,            // TransactionType ordinal
+        long[] amounts,          // Minor units, see Money
+        long[] dateMicros) {     // Epoch microseconds, UTC
+
+    public static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,184 @@
+package com.finance.userservice.archive;
+
+import com.finance.userservice.repository.projection.TransactionRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Cold storage for transactions moved out of the transactions table: one columnar segment
+// per user per year under archive.directory. Segments are immutable; archiving more rows
+// into a year rewrites its file and swaps it in atomically, so readers never see a partial one.
+@Component
+public class TransactionArchive {
+
+    private static final String SEGMENT_SUFFIX = ".txc";
+
+    private final Path root;
+
+    public TransactionArchive(@Value("${archive.directory:./data/archive}") String directory) {
+        this.root = Paths.get(directory);
+    }
+
+    public boolean hasSegments(Long userId) {
+        return !years(userId).isEmpty();
+    }
+
+    public List<TransactionRow> read(Long userId) {
+        return read(userId, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    // Segments for years in [fromYear, toYear]; files outside the range are not opened
+    public List<TransactionRow> read(Long userId, int fromYear, int toYear) {
+        List<TransactionRow> rows = new ArrayList<>();
+        for (int year : years(userId)) {
+            if (year >= fromYear && year <= toYear) {
+                rows.addAll(readYear(userId, year));
+            }
+        }
+        return rows;
+    }
+
+    public List<TransactionRow> readYear(Long userId, int year) {
+        List<TransactionRow> rows = mapSegment(userId, year, TransactionSegmentCodec::decode);
+        return rows != null ? rows : new ArrayList<>();
+    }
+
+    // Decodes only the segments whose id range covers the id; usually one, none for an unknown id
+    public Optional<TransactionRow> find(Long userId, long id) {
+        for (int year : years(userId)) {
+            if (Boolean.TRUE.equals(mapSegment(userId, year, buffer -> TransactionSegmentCodec.mayContain(buffer, id)))) {
+                Optional<TransactionRow> row = readYear(userId, year).stream()
+                        .filter(candidate -> candidate.id() == id)
+                        .findFirst();
+                if (row.isPresent()) {
+                    return row;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Numeric columns only, one entry per segment in [fromYear, toYear]; for sums and group-bys
+    public List<ArchivedColumns> readColumns(Long userId, int fromYear, int toYear) {
+        List<ArchivedColumns> segments = new ArrayList<>();
+        for (int year : years(userId)) {
+            if (year >= fromYear && year <= toYear) {
+                ArchivedColumns columns = mapSegment(userId, year, TransactionSegmentCodec::decodeColumns);
+                if (columns != null) {
+                    segments.add(columns);
+                }
+            }
+        }
+        return segments;
+    }
+
+    // Replaces the user's segment for the year; rows must already be the complete year
+    public void write(Long userId, int year, List<TransactionRow> rows) {
+        List<TransactionRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(TransactionRow::id));
+        byte[] encoded = TransactionSegmentCodec.encode(sorted);
+
+        Path segment = segmentPath(userId, year);
+        Path temp = segment.resolveSibling(segment.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(segment.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // Durable before the caller deletes the rows from the database
+                channel.force(true);
+            }
+            Files.move(temp, segment, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write archive segment " + segment, ex);
+        }
+    }
+
+    // Passes every row of the user's segments through change and rewrites the segments where a row
+    // changed. Callers hold off archiveSegment (see UserRepository.lockForArchiveRewrite), whose
+    // read-merge-write of a year would otherwise lose either side's rows.
+    public void rewrite(Long userId, UnaryOperator<TransactionRow> change) {
+        for (int year : years(userId)) {
+            List<TransactionRow> rows = readYear(userId, year);
+            List<TransactionRow> changed = new ArrayList<>(rows.size());
+            boolean modified = false;
+            for (TransactionRow row : rows) {
+                TransactionRow result = change.apply(row);
+                modified |= result != row;
+                changed.add(result);
+            }
+            if (modified) {
+                write(userId, year, changed);
+            }
+        }
+    }
+
+    public void deleteUser(Long userId) {
+        try {
+            FileSystemUtils.deleteRecursively(userDirectory(userId));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to delete archive of user " + userId, ex);
+        }
+    }
+
+    private <T> T mapSegment(Long userId, int year, Function<ByteBuffer, T> decoder) {
+        Path segment = segmentPath(userId, year);
+        if (!Files.exists(segment)) {
+            return null;
+        }
+        // The mapping stays valid after a concurrent rewrite replaces the file
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decoder.apply(buffer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read archive segment " + segment, ex);
+        }
+    }
+
+    private List<Integer> years(Long userId) {
+        Path directory = userDirectory(userId);
+        List<Integer> years = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return years;
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                years.add(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to list archive of user " + userId, ex);
+        }
+        years.sort(null);
+        return years;
+    }
+
+    private Path userDirectory(Long userId) {
+        return root.resolve(String.valueOf(userId));
+    }
+
+    private Path segmentPath(Long userId, int year) {
+        return userDirectory(userId).resolve(year + SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,333 @@
+package com.finance.userservice.archive;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.repository.projection.TransactionRow;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Columnar layout for one user-year of archived transactions. Rows are sorted by id and stored
+// column by column: ids, dates and timestamps as zig-zag varint deltas, amounts as varint
+// cents, account ids and strings through per-segment dictionaries. That is where the size
+// reduction comes from; there is no block codec, so a segment can be memory-mapped and decoded
+// in place. The header carries the segment's id range, so a lookup by id can skip segments
+// without decoding them.
+final class TransactionSegmentCodec {
+
+    static final int MAGIC = 0x54584333; // "TXC3": TXC2 plus the id range after the row count
+    private static final int MAGIC_V2 = 0x54584332; // "TXC2": TXC1 plus a trailing transfer account column
+    private static final int MAGIC_V1 = 0x54584331; // "TXC1", still read
+    private static final int AMOUNT_SCALE = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private TransactionSegmentCodec() {
+    }
+
+    static byte[] encode(List<TransactionRow> rows) {
+        Writer out = new Writer();
+        out.writeInt(MAGIC);
+        out.writeVarint(rows.size());
+        long minId = rows.stream().mapToLong(TransactionRow::id).min().orElse(0);
+        long maxId = rows.stream().mapToLong(TransactionRow::id).max().orElse(0);
+        out.writeSigned(minId);
+        out.writeSigned(maxId);
+
+        long previous = 0;
+        for (TransactionRow row : rows) {
+            out.writeSigned(row.id() - previous);
+            previous = row.id();
+        }
+        writeDictionary(out, rows, TransactionRow::accountId, (w, value) -> w.writeSigned(value));
+        for (TransactionRow row : rows) {
+            out.writeByte(row.type().ordinal());
+        }
+        for (TransactionRow row : rows) {
+            out.writeSigned(row.amount().setScale(AMOUNT_SCALE).unscaledValue().longValueExact());
+        }
+        previous = 0;
+        for (TransactionRow row : rows) {
+            long micros = toMicros(row.date());
+            out.writeSigned(micros - previous);
+            previous = micros;
+        }
+        previous = 0;
+        for (TransactionRow row : rows) {
+            long micros = toMicros(row.createdAt());
+            out.writeSigned(micros - previous);
+            previous = micros;
+        }
+        // Relative to createdAt; 0 marks a missing value
+        for (TransactionRow row : rows) {
+            out.writeVarint(row.updatedAt() == null ? 0
+                    : zigZag(toMicros(row.updatedAt()) - toMicros(row.createdAt())) + 1);
+        }
+        writeDictionary(out, rows, TransactionRow::description, Writer::writeString);
+        writeDictionary(out, rows, TransactionRow::category, Writer::writeString);
+        writeDictionary(out, rows, TransactionRow::transferAccountId, (w, value) -> w.writeSigned(value));
+        return out.toByteArray();
+    }
+
+    static List<TransactionRow> decode(ByteBuffer buffer) {
+        Reader in = new Reader(buffer);
+        int magic = readMagic(in);
+        int count = (int) in.readVarint();
+        if (magic == MAGIC) {
+            in.readSigned();
+            in.readSigned();
+        }
+
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readSigned();
+            ids[i] = previous;
+        }
+        List<Long> accountIds = readDictionary(in, count, Reader::readSigned);
+        TransactionType[] types = new TransactionType[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = TYPES[in.readByte()];
+        }
+        BigDecimal[] amounts = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = BigDecimal.valueOf(in.readSigned(), AMOUNT_SCALE);
+        }
+        long[] dates = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readSigned();
+            dates[i] = previous;
+        }
+        long[] createdAts = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readSigned();
+            createdAts[i] = previous;
+        }
+        LocalDateTime[] updatedAts = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            long encoded = in.readVarint();
+            updatedAts[i] = encoded == 0 ? null : fromMicros(createdAts[i] + unZigZag(encoded - 1));
+        }
+        List<String> descriptions = readDictionary(in, count, Reader::readString);
+        List<String> categories = readDictionary(in, count, Reader::readString);
+        List<Long> transferAccountIds = magic != MAGIC_V1
+                ? readDictionary(in, count, Reader::readSigned)
+                : Collections.nCopies(count, null);
+
+        List<TransactionRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new TransactionRow(ids[i], amounts[i], types[i], fromMicros(dates[i]), descriptions.get(i),
+                    categories.get(i), accountIds.get(i), transferAccountIds.get(i), fromMicros(createdAts[i]), updatedAts[i]));
+        }
+        return rows;
+    }
+
+    // Reads only the leading numeric columns and stops before the timestamps and strings
+    static ArchivedColumns decodeColumns(ByteBuffer buffer) {
+        Reader in = new Reader(buffer);
+        int magic = readMagic(in);
+        int count = (int) in.readVarint();
+        if (magic == MAGIC) {
+            in.readSigned();
+            in.readSigned();
+        }
+
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readSigned();
+            ids[i] = previous;
+        }
+        long[] accounts = new long[(int) in.readVarint()];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = in.readSigned();
+        }
+        int[] accountCodes = new int[count];
+        for (int i = 0; i < count; i++) {
+            accountCodes[i] = (int) in.readVarint() - 1;
+        }
+        byte[] types = new byte[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = (byte) in.readByte();
+        }
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = in.readSigned();
+        }
+        long[] dates = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readSigned();
+            dates[i] = previous;
+        }
+        return new ArchivedColumns(count, ids, accounts, accountCodes, types, amounts, dates);
+    }
+
+    // Whether the segment may hold the id: the header range for TXC3, the id column for older segments
+    static boolean mayContain(ByteBuffer buffer, long id) {
+        Reader in = new Reader(buffer);
+        int magic = readMagic(in);
+        int count = (int) in.readVarint();
+        if (magic == MAGIC) {
+            return count > 0 && id >= in.readSigned() && id <= in.readSigned();
+        }
+        // Ids are sorted, so the scan stops at the first id not below the one looked for
+        long current = 0;
+        for (int i = 0; i < count; i++) {
+            current += in.readSigned();
+            if (current >= id) {
+                return current == id;
+            }
+        }
+        return false;
+    }
+
+    private static int readMagic(Reader in) {
+        int magic = in.readInt();
+        if (magic != MAGIC && magic != MAGIC_V2 && magic != MAGIC_V1) {
+            throw new IllegalStateException("Not a transaction archive segment");
+        }
+        return magic;
+    }
+
+    // Distinct values once, then one varint code per row (0 = null)
+    private static <T> void writeDictionary(Writer out, List<TransactionRow> rows,
+                                            Function<TransactionRow, T> column, ValueWriter<T> valueWriter) {
+        Map<T, Integer> codes = new HashMap<>();
+        List<T> values = new ArrayList<>();
+        for (TransactionRow row : rows) {
+            T value = column.apply(row);
+            if (value != null && codes.putIfAbsent(value, values.size() + 1) == null) {
+                values.add(value);
+            }
+        }
+        out.writeVarint(values.size());
+        for (T value : values) {
+            valueWriter.write(out, value);
+        }
+        for (TransactionRow row : rows) {
+            T value = column.apply(row);
+            out.writeVarint(value == null ? 0 : codes.get(value));
+        }
+    }
+
+    private static <T> List<T> readDictionary(Reader in, int count, Function<Reader, T> valueReader) {
+        int size = (int) in.readVarint();
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(valueReader.apply(in));
+        }
+        List<T> column = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int code = (int) in.readVarint();
+            column.add(code == 0 ? null : values.get(code - 1));
+        }
+        return column;
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return ArchivedColumns.toMicros(value);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private interface ValueWriter<T> {
+        void write(Writer out, T value);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void writeByte(int value) {
+            bytes.write(value);
+        }
+
+        void writeInt(int value) {
+            bytes.write(value >>> 24);
+            bytes.write(value >>> 16);
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        void writeSigned(long value) {
+            writeVarint(zigZag(value));
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            return buffer.get() & 0xFF;
+        }
+
+        int readInt() {
+            return buffer.getInt();
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long readSigned() {
+            return unZigZag(readVarint());
+        }
+
+        String readString() {
+            byte[] utf8 = new byte[(int) readVarint()];
+            buffer.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
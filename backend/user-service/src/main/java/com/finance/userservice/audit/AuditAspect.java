@@ -0,0 +1,77 @@
+package com.finance.userservice.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+
+// Records only writes that returned normally; inside a surrounding transaction the event waits for its commit.
+// The append itself never touches the database on the request thread.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class AuditAspect {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final AuditLog auditLog;
+
+    @Around("@annotation(audited)")
+    public Object audit(ProceedingJoinPoint joinPoint, Audited audited) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        Object[] args = joinPoint.getArgs();
+        AuditEvent event = new AuditEvent(Instant.now(), currentActor(), audited.action(), audited.entityType(),
+                entityId(args, result), detail(args));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLog.append(event);
+                }
+            });
+        } else {
+            auditLog.append(event);
+        }
+        return result;
+    }
+
+    private String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : ANONYMOUS;
+    }
+
+    // Id-addressed writes take the id as first argument; creates return it on the response
+    private Long entityId(Object[] args, Object result) {
+        if (args.length > 0 && args[0] instanceof Long id) {
+            return id;
+        }
+        if (result != null && !(result instanceof Collection<?>)) {
+            BeanWrapperImpl wrapper = new BeanWrapperImpl(result);
+            if (wrapper.isReadableProperty("id") && wrapper.getPropertyValue("id") instanceof Long id) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    // Batch writes carry no single id; keep the size of the batch
+    private String detail(Object[] args) {
+        if (args.length > 0 && args[0] instanceof Collection<?> items) {
+            return "items=" + items.size();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.finance.userservice.audit;
+
+import java.time.Instant;
+
+public record AuditEvent(
+        Instant occurredAt,
+        String actor,
+        String action,
+        String entityType,
+        Long entityId,
+        String detail) {
+}
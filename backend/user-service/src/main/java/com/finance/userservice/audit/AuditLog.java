@@ -0,0 +1,157 @@
+package com.finance.userservice.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Write-behind audit trail. Request threads only append to a lock-free ring; one background writer
+// hands the sink batches of up to audit.batch-size events, at the latest every audit.flush-interval-ms.
+// Events still buffered at shutdown are flushed; a crash loses at most what is buffered.
+@Slf4j
+@Component
+public class AuditLog implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        // Drop the new event and count it
+        DROP,
+        // Make the caller wait up to audit.block-timeout-ms for space, then drop
+        BLOCK
+    }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditSink sink;
+    private final AuditRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Counter written;
+    private final Counter droppedOverflow;
+    private final Counter droppedSinkError;
+    private final Timer batchWrites;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditLog(AuditSink sink,
+                    MeterRegistry meterRegistry,
+                    @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+                    @Value("${audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                    @Value("${audit.block-timeout-ms:50}") long blockTimeoutMs,
+                    @Value("${audit.batch-size:500}") int batchSize,
+                    @Value("${audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer(bufferCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        Gauge.builder("audit.queue.depth", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("audit.queue.capacity", buffer, AuditRingBuffer::capacity).register(meterRegistry);
+        this.written = Counter.builder("audit.events.written").register(meterRegistry);
+        this.droppedOverflow = Counter.builder("audit.events.dropped").tag("reason", "overflow").register(meterRegistry);
+        this.droppedSinkError = Counter.builder("audit.events.dropped").tag("reason", "sink_error").register(meterRegistry);
+        this.batchWrites = Timer.builder("audit.batch.write").register(meterRegistry);
+    }
+
+    public void append(AuditEvent event) {
+        if (!buffer.offer(event) && !(overflowPolicy == OverflowPolicy.BLOCK && offerWithin(event))) {
+            droppedOverflow.increment();
+            return;
+        }
+        // Wake the writer early once a full batch is waiting instead of at the next interval
+        Thread current = writer;
+        if (current != null && buffer.size() >= batchSize) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private boolean offerWithin(AuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+        return false;
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flush(batch);
+        }
+        flush(batch);
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            long start = System.nanoTime();
+            try {
+                sink.write(batch);
+                written.increment(batch.size());
+            } catch (Exception ex) {
+                // Retrying would let a dead sink back up into request threads; the counter makes the gap visible
+                droppedSinkError.increment(batch.size());
+                log.error("Dropped {} audit events after sink failure", batch.size(), ex);
+            } finally {
+                batchWrites.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server has drained in-flight requests, before the DataSource is closed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
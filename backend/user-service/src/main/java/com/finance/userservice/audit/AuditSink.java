@@ -0,0 +1,8 @@
+package com.finance.userservice.audit;
+
+import java.util.List;
+
+public interface AuditSink {
+    // Called from the single audit writer thread only
+    void write(List<AuditEvent> batch) throws Exception;
+}
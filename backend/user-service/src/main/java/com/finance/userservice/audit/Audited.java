@@ -0,0 +1,15 @@
+package com.finance.userservice.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Appends an AuditEvent to the write-behind AuditLog once the annotated write has committed
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+    String action();
+
+    String entityType();
+}
@@ -0,0 +1,82 @@
+package com.finance.userservice.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends JSON lines to audit-<epoch millis>.log segments under audit.file.directory and rolls to a new
+// segment past audit.file.segment-bytes. With audit.file.fsync each batch is forced to disk before the
+// next one is taken, so the cost of an fsync is shared by the whole batch.
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "file")
+public class FileAuditSink implements AuditSink, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    private FileChannel segment;
+
+    public FileAuditSink(ObjectMapper objectMapper,
+                         @Value("${audit.file.directory:./data/audit}") String directory,
+                         @Value("${audit.file.segment-bytes:67108864}") long segmentBytes,
+                         @Value("${audit.file.fsync:true}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 160);
+        for (AuditEvent event : batch) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (segment == null || segment.size() >= segmentBytes) {
+            roll();
+        }
+        while (bytes.hasRemaining()) {
+            segment.write(bytes);
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        segment = FileChannel.open(directory.resolve("audit-" + System.currentTimeMillis() + ".log"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    // Runs after AuditLog has stopped its writer and flushed the tail
+    @Override
+    public void destroy() throws IOException {
+        close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.finance.userservice.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// One JDBC batch per flush into audit_log (see schema.sql). With sharding enabled the
+// writer thread has no shard bound, so the trail lands on the directory shard.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "audit.sink", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT = "INSERT INTO audit_log (occurred_at, actor, action, entity_type, entity_id, detail) " +
+                                         "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, event) -> {
+            statement.setTimestamp(1, Timestamp.from(event.occurredAt()));
+            statement.setString(2, event.actor());
+            statement.setString(3, event.action());
+            statement.setString(4, event.entityType());
+            if (event.entityId() != null) {
+                statement.setLong(5, event.entityId());
+            } else {
+                statement.setNull(5, Types.BIGINT);
+            }
+            statement.setString(6, event.detail());
+        });
+    }
+}
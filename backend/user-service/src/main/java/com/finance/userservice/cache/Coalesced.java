@@ -0,0 +1,14 @@
+package com.finance.userservice.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Concurrent identical calls by the same principal share one execution (see CoalescingAspect).
+// Only for read methods returning detached values (DTOs, never entities) that are safe to hand to
+// several requests at once.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
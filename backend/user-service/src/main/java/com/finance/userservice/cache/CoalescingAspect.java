@@ -0,0 +1,125 @@
+package com.finance.userservice.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs outside @Transactional, so followers receive the leader's result after it has committed
+// and never open a transaction or connection of their own.
+// Read-your-writes: a call only joins a flight that started after its principal's last committed
+// write; an older flight may not see that write, so the call runs on its own instead.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CoalescingAspect {
+
+    // Flights older than this are never joined, so writes older than this need not be remembered
+    private static final long MAX_JOIN_AGE_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final ConcurrentHashMap<List<Object>, Flight> flights = new ConcurrentHashMap<>();
+    // Principal -> System.nanoTime() of their last committed write
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long lastPrune = System.nanoTime();
+
+    private record Flight(long startedAt, CompletableFuture<Object> result) {
+    }
+
+    @Around("@annotation(com.finance.userservice.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Inside a caller's transaction the result must come from that transaction's own persistence context
+        if (authentication == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String principal = authentication.getName();
+        List<Object> key = List.of(joinPoint.getSignature().toLongString(), principal,
+                Arrays.asList(joinPoint.getArgs()));
+        Flight flight = new Flight(System.nanoTime(), new CompletableFuture<>());
+        Flight leader = flights.putIfAbsent(key, flight);
+        if (leader != null) {
+            return joinable(leader, principal, flight.startedAt()) ? await(leader) : joinPoint.proceed();
+        }
+
+        try {
+            Object value = joinPoint.proceed();
+            flight.result().complete(value);
+            return value;
+        } catch (Throwable ex) {
+            flight.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    // Method-level @Transactional writes; the call has returned, so its transaction has committed unless
+    // it joined an outer one, which is then waited for
+    @AfterReturning("@annotation(transactional)")
+    public void recordWrite(Transactional transactional) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (transactional.readOnly() || authentication == null) {
+            return;
+        }
+        String principal = authentication.getName();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wrote(principal);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wrote(principal);
+            }
+        });
+    }
+
+    private boolean joinable(Flight leader, String principal, long now) {
+        if (now - leader.startedAt() > MAX_JOIN_AGE_NANOS) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(principal);
+        return lastWrite == null || leader.startedAt() - lastWrite > 0;
+    }
+
+    private void wrote(String principal) {
+        long now = System.nanoTime();
+        lastWrites.put(principal, now);
+        // At most once per join age: every remembered write older than that is irrelevant to joinable
+        if (now - lastPrune > MAX_JOIN_AGE_NANOS) {
+            lastPrune = now;
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > MAX_JOIN_AGE_NANOS);
+        }
+    }
+
+    private static Object await(Flight leader) {
+        try {
+            return leader.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new UndeclaredThrowableException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.finance.userservice.category;
+
+import com.finance.userservice.cache.LruTtlCache;
+import com.finance.userservice.entity.Category;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory id <-> name dictionary of each active user's categories, with the hierarchy resolved
+// into plain id arrays. A user's whole dictionary is loaded with one query on first use and
+// replaced wholesale after any category change commits. Changes made by other instances arrive
+// through the InvalidationBus; the TTL only bounds staleness when one of those is lost.
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final LruTtlCache<Long, UserCategories> users;
+
+    public CategoryDictionary(CategoryRepository categoryRepository,
+                              InvalidationBus invalidationBus,
+                              @Value("${categories.dictionary.max-users:10000}") int maxUsers,
+                              @Value("${categories.dictionary.ttl-seconds:600}") long ttlSeconds) {
+        this.categoryRepository = categoryRepository;
+        this.users = new LruTtlCache<>(maxUsers, Duration.ofSeconds(ttlSeconds));
+        invalidationBus.subscribe(InvalidationScope.CATEGORIES, users::invalidate, users::clear);
+    }
+
+    // Must run on the user's shard, inside the caller's transaction
+    public UserCategories forUser(Long userId) {
+        UserCategories categories = users.get(userId);
+        if (categories == null) {
+            categories = new UserCategories(categoryRepository.findByUserId(userId));
+            users.put(userId, categories);
+        }
+        return categories;
+    }
+
+    // Dropped after commit, so a concurrent reload cannot cache a state that is about to change
+    public void evict(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            users.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                users.invalidate(userId);
+            }
+        });
+    }
+
+    public static final class UserCategories {
+
+        private static final long[] NONE = new long[0];
+
+        private final Map<Long, CategoryEntry> byId = new HashMap<>();
+        private final Map<String, CategoryEntry> byNormalizedName = new HashMap<>();
+        private final Map<Long, long[]> withAncestors = new HashMap<>();
+        private final Map<Long, long[]> withDescendants = new HashMap<>();
+
+        private UserCategories(List<Category> categories) {
+            Map<Long, List<Long>> children = new HashMap<>();
+            for (Category category : categories) {
+                CategoryEntry entry = new CategoryEntry(category.getId(), category.getName(), category.getParentId());
+                byId.put(entry.id(), entry);
+                byNormalizedName.put(category.getNormalizedName(), entry);
+                if (entry.parentId() != null) {
+                    children.computeIfAbsent(entry.parentId(), parent -> new ArrayList<>()).add(entry.id());
+                }
+            }
+            for (CategoryEntry entry : byId.values()) {
+                withAncestors.put(entry.id(), collectAncestors(entry));
+                withDescendants.put(entry.id(), collectDescendants(entry.id(), children));
+            }
+        }
+
+        public CategoryEntry byId(Long id) {
+            return id == null ? null : byId.get(id);
+        }
+
+        public CategoryEntry byName(String name) {
+            return byNormalizedName.get(Category.normalize(name));
+        }
+
+        // The category and every category above it; a budget on any of them counts the category's spend
+        public long[] withAncestors(Long id) {
+            return id == null ? NONE : withAncestors.getOrDefault(id, NONE);
+        }
+
+        // The category and its whole subtree; rolling a category up means summing over these ids
+        public long[] withDescendants(Long id) {
+            return id == null ? NONE : withDescendants.getOrDefault(id, NONE);
+        }
+
+        public List<CategoryEntry> all() {
+            return List.copyOf(byId.values());
+        }
+
+        // Parent links are validated on write; the depth bound only guards against a corrupted cycle
+        private long[] collectAncestors(CategoryEntry entry) {
+            List<Long> ids = new ArrayList<>();
+            for (CategoryEntry current = entry; current != null && ids.size() <= byId.size();
+                 current = byId.get(current.parentId())) {
+                ids.add(current.id());
+                if (current.parentId() == null) {
+                    break;
+                }
+            }
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        private long[] collectDescendants(long root, Map<Long, List<Long>> children) {
+            List<Long> ids = new ArrayList<>();
+            ids.add(root);
+            for (int i = 0; i < ids.size() && ids.size() <= byId.size(); i++) {
+                ids.addAll(children.getOrDefault(ids.get(i), List.of()));
+            }
+            long[] result = ids.stream().mapToLong(Long::longValue).distinct().toArray();
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.finance.userservice.category;
+
+// Immutable dictionary view of a Category row; name is the single shared instance for that category
+public record CategoryEntry(long id, String name, Long parentId) {
+}
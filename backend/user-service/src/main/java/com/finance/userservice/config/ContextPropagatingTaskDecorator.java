@@ -0,0 +1,37 @@
+package com.finance.userservice.config;
+
+import com.finance.userservice.sharding.ShardContext;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Carries the submitting request's principal and shard onto pool threads. Previous values are
+// restored rather than cleared because CallerRunsPolicy may run the task on the request thread.
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        String shardId = ShardContext.current();
+        return () -> {
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            String previousShardId = ShardContext.current();
+            SecurityContextHolder.setContext(securityContext);
+            bindShard(shardId);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.setContext(previousSecurityContext);
+                bindShard(previousShardId);
+            }
+        };
+    }
+
+    private static void bindShard(String shardId) {
+        if (shardId != null) {
+            ShardContext.bind(shardId);
+        } else {
+            ShardContext.clear();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.finance.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Bounded pool for per-request query fan-out. Keep it below the connection pool size so
+    // fan-out cannot starve plain requests of connections; when saturated, the request
+    // thread runs its own sub-queries instead of queueing without limit.
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor(
+            @Value("${fan-out.executor.pool-size:6}") int poolSize,
+            @Value("${fan-out.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
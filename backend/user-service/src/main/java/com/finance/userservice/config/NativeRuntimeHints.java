@@ -0,0 +1,78 @@
+package com.finance.userservice.config;
+
+import com.finance.userservice.audit.AuditEvent;
+import com.finance.userservice.dto.response.AccountResponse;
+import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.dto.response.UserResponse;
+import com.finance.userservice.entity.Account;
+import com.finance.userservice.entity.Budget;
+import com.finance.userservice.entity.BudgetSpend;
+import com.finance.userservice.entity.Category;
+import com.finance.userservice.entity.ExchangeRate;
+import com.finance.userservice.entity.IdempotencyRecord;
+import com.finance.userservice.entity.OAuthProvider;
+import com.finance.userservice.entity.OutboxEvent;
+import com.finance.userservice.entity.RecurringRule;
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.User;
+import com.finance.userservice.outbox.OutboxMessage;
+import com.finance.userservice.repository.projection.TransactionRow;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+// Reflection the AOT engine cannot infer, for the native profile (mvn -Pnative native:compile).
+// Entities and repositories are covered by Spring's JPA/Data AOT; what is left is reflection in libraries
+// and in our own code paths that go around Spring MVC's binding.
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // JJWT 0.11 instantiates its implementation and the Jackson (de)serializers by class name
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        // Keys.secretKeyFor calls MacProvider.generateKey reflectively
+        hints.reflection().registerType(TypeReference.of("io.jsonwebtoken.impl.crypto.MacProvider"),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Lombok-generated accessors are plain methods; Hibernate still reaches fields and the no-arg
+        // constructors reflectively when it hydrates entities
+        for (Class<?> entity : List.of(Account.class, Budget.class, BudgetSpend.class, Category.class, ExchangeRate.class,
+                IdempotencyRecord.class, OAuthProvider.class, OutboxEvent.class, RecurringRule.class,
+                Transaction.class, User.class)) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // JPQL constructor expressions (TransactionRepository.TRANSACTION_ROW)
+        hints.reflection().registerType(TransactionRow.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Serialized with the ObjectMapper directly by the file and Kafka sinks
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                AuditEvent.class, OutboxMessage.class);
+
+        // AuditAspect reads the id of returned responses through a BeanWrapper
+        for (Class<?> response : List.of(AccountResponse.class, TransactionResponse.class, UserResponse.class)) {
+            hints.reflection().registerType(response, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.finance.userservice.config;
+
+import com.finance.userservice.repository.ReactiveTransactionRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+// Only active with reactive.enabled=true. The pool is deliberately not exposed as a ConnectionFactory bean:
+// Boot's DataSourceAutoConfiguration backs off when one exists, which would take JPA down with it.
+// Boot's own R2DBC auto-configuration is excluded in application.properties for the same reason.
+@Configuration
+@ConditionalOnExpression("${reactive.enabled:false} and !${sharding.enabled:false}")
+@EnableR2dbcRepositories(basePackageClasses = ReactiveTransactionRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveTransactionRepository.class),
+        entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveDataConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveDataConfig(@Value("${reactive.r2dbc.url}") String url,
+                              @Value("${reactive.r2dbc.username}") String username,
+                              @Value("${reactive.r2dbc.password}") String password,
+                              @Value("${reactive.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate() {
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,89 @@
+package com.finance.userservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// Periodically measures how far the replica trails the primary. Each check stamps a heartbeat row
+// on the primary with this instance's clock and reads the row back from the replica, so lag keeps
+// growing whenever replication stalls, including a replica whose WAL receiver has lost the primary.
+// Reads are only routed to the replica while the last check succeeded and the lag is within the bound.
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // GREATEST: several instances share the row and their checks may commit out of order
+    private static final String BEAT_SQL =
+            "INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET beat_millis = GREATEST(replica_heartbeat.beat_millis, EXCLUDED.beat_millis)";
+    private static final String READ_BEAT_SQL = "SELECT max(beat_millis) FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+    // Heartbeat written by the previous check; only touched by the scheduler thread
+    private long previousBeat = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        long beat = System.currentTimeMillis();
+        try {
+            primaryJdbcTemplate.update(BEAT_SQL, beat);
+        } catch (DataAccessException ex) {
+            // Still measured below: with no new heartbeats the replica's lag simply keeps growing
+            log.debug("Could not write replica heartbeat: {}", ex.getMessage());
+        }
+        try {
+            Long replicated = replicaJdbcTemplate.queryForObject(READ_BEAT_SQL, Long.class);
+            if (replicated == null) {
+                setUsable(false, "bypassed (no heartbeat replicated yet)");
+                return;
+            }
+            lastLagMillis = lagMillis(replicated, beat, System.currentTimeMillis());
+            setUsable(lastLagMillis <= maxLagMillis, "lag " + lastLagMillis + " ms");
+        } catch (DataAccessException ex) {
+            if (replicaUsable) {
+                log.warn("Replica unreachable, routing reads to the primary", ex);
+            }
+            replicaUsable = false;
+        } finally {
+            previousBeat = beat;
+        }
+    }
+
+    // Time since the oldest heartbeat the replica is known to be missing. Missing only the beat just
+    // written means it is at most that write behind; otherwise the replicated beat itself bounds the lag
+    // from above, which errs towards the primary by at most one check interval.
+    private long lagMillis(long replicated, long beat, long now) {
+        if (replicated >= beat) {
+            return 0;
+        }
+        return Math.max(0, now - (replicated >= previousBeat ? beat : replicated));
+    }
+
+    private void setUsable(boolean usable, String detail) {
+        if (usable != replicaUsable) {
+            log.info("Replica is now {} ({})", usable ? "serving reads" : "bypassed", detail);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+}
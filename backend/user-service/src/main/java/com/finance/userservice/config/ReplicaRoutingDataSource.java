@@ -0,0 +1,87 @@
+package com.finance.userservice.config;
+
+import com.finance.userservice.cache.LruTtlCache;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Sends @Transactional(readOnly = true) work to the replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound after the
+// transaction manager has asked for a connection, so the real lookup has to be deferred.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Role {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Set around work that must read the primary even in a read-only transaction; see onPrimary
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final LruTtlCache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, Duration stickyWindow, int maxTrackedWriters) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = new LruTtlCache<>(maxTrackedWriters, stickyWindow);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = currentPrincipal();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterAfterCommit(principal);
+            return Role.PRIMARY;
+        }
+        if (PRIMARY_ONLY.get() != null || !lagMonitor.isReplicaUsable()) {
+            return Role.PRIMARY;
+        }
+        // Read-your-writes: a user who just committed keeps reading from the primary for a while
+        if (principal != null && recentWriters.get(principal) != null) {
+            return Role.PRIMARY;
+        }
+        return Role.REPLICA;
+    }
+
+    // Read-only work whose result is kept longer than the replica may lag, e.g. cached snapshots. Only
+    // connections acquired inside take effect, so the work should open its own transaction. A no-op
+    // without the replica.
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PRIMARY_ONLY.get() != null) {
+            return work.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    private void rememberWriterAfterCommit(String principal) {
+        if (principal == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(principal, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,19 @@
+package com.finance.userservice.config;
+
+import com.finance.userservice.sharding.ShardExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Unsharded: background jobs run once against the single database
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardExecutor shardExecutor() {
+        return Runnable::run;
+    }
+}
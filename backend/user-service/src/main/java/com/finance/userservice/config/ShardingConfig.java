@@ -0,0 +1,140 @@
+package com.finance.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.userservice.sharding.ConsistentHashRing;
+import com.finance.userservice.sharding.SchemaMetadataCapture;
+import com.finance.userservice.sharding.ShardUserEventListener;
+import com.finance.userservice.sharding.ShardContext;
+import com.finance.userservice.sharding.ShardContextFilter;
+import com.finance.userservice.sharding.ShardDirectory;
+import com.finance.userservice.sharding.ShardExecutor;
+import com.finance.userservice.sharding.ShardMigrationService;
+import com.finance.userservice.sharding.ShardRebalanceRunner;
+import com.finance.userservice.sharding.ShardRoutingDataSource;
+import com.finance.userservice.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Only active with sharding.enabled=true. Per-user data lives on the shard the directory
+// assigns; user profiles and placements stay on the first (directory) shard.
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.shards must list at least one shard");
+        }
+        Map<Object, Object> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setPoolName(shard.getId());
+            shards.put(shard.getId(), dataSource);
+        }
+        String directoryShardId = directoryShardId(properties);
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(directoryShardId);
+        routingDataSource.setTargetDataSources(shards);
+        routingDataSource.setDefaultTargetDataSource(shards.get(directoryShardId));
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardingProperties properties, ShardRoutingDataSource dataSource) {
+        Map<String, JdbcTemplate> shards = new LinkedHashMap<>();
+        dataSource.getResolvedDataSources().forEach((id, shard) -> shards.put((String) id, new JdbcTemplate(shard)));
+        ConsistentHashRing ring = new ConsistentHashRing(shardIds(properties), properties.getVirtualNodes());
+        return new ShardDirectory(directoryShardId(properties), shards, ring,
+                properties.getPlacementCacheMaxEntries(), properties.getPlacementCacheTtl());
+    }
+
+    @Bean
+    public ShardContextFilter shardContextFilter(ShardDirectory shardDirectory, ObjectMapper objectMapper) {
+        return new ShardContextFilter(shardDirectory, objectMapper);
+    }
+
+    // Runs inside the security chain (after JWT authentication), not as a standalone servlet filter
+    @Bean
+    public FilterRegistrationBean<ShardContextFilter> shardContextFilterRegistration(ShardContextFilter filter) {
+        FilterRegistrationBean<ShardContextFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public SchemaMetadataCapture schemaMetadataCapture() {
+        return new SchemaMetadataCapture();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaMetadataCaptureCustomizer(SchemaMetadataCapture capture) {
+        return hibernateProperties -> hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(capture));
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(
+            ShardDirectory shardDirectory, ShardingProperties properties, SchemaMetadataCapture capture) {
+        return new ShardSchemaInitializer(shardDirectory, shardIds(properties), capture);
+    }
+
+    @Bean
+    public ShardUserEventListener shardUserEventListener(ShardDirectory shardDirectory) {
+        return new ShardUserEventListener(shardDirectory);
+    }
+
+    @Bean
+    public ShardExecutor shardExecutor(ShardingProperties properties) {
+        List<String> shardIds = shardIds(properties);
+        return task -> {
+            for (String shardId : shardIds) {
+                ShardContext.bind(shardId);
+                try {
+                    task.run();
+                } finally {
+                    ShardContext.clear();
+                }
+            }
+        };
+    }
+
+    @Bean
+    public ShardMigrationService shardMigrationService(ShardDirectory shardDirectory, ShardingProperties properties) {
+        return new ShardMigrationService(shardDirectory, properties.getRebalance().getCopyBatchSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.rebalance.enabled", havingValue = "true")
+    public ShardRebalanceRunner shardRebalanceRunner(
+            ShardDirectory shardDirectory, ShardMigrationService shardMigrationService) {
+        return new ShardRebalanceRunner(shardDirectory, shardMigrationService);
+    }
+
+    private static String directoryShardId(ShardingProperties properties) {
+        return properties.getShards().get(0).getId();
+    }
+
+    private static List<String> shardIds(ShardingProperties properties) {
+        return properties.getShards().stream().map(ShardingProperties.Shard::getId).toList();
+    }
+}
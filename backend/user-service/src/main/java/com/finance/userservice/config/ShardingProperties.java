@@ -0,0 +1,42 @@
+package com.finance.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // Virtual points per shard on the hash ring
+    private int virtualNodes = 128;
+
+    // How long a resolved email -> shard placement is reused before the directory is asked again
+    private Duration placementCacheTtl = Duration.ofSeconds(5);
+
+    private int placementCacheMaxEntries = 100000;
+
+    // The first shard is the directory: it holds user profiles, placements and all pre-sharding data
+    private List<Shard> shards = new ArrayList<>();
+
+    private Rebalance rebalance = new Rebalance();
+
+    @Data
+    public static class Shard {
+        private String id;
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Data
+    public static class Rebalance {
+        private boolean enabled;
+        private int copyBatchSize = 1000;
+    }
+}
@@ -1,10 +1,17 @@
 package com.finance.userservice.controller;
 
 import com.finance.userservice.dto.request.AccountRequest;
+import com.finance.userservice.dto.request.BatchRequest;
+import com.finance.userservice.dto.response.AccountOverviewResponse;
 import com.finance.userservice.dto.response.AccountResponse;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.NetWorthResponse;
+import com.finance.userservice.dto.response.PageResponse;
 import com.finance.userservice.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +29,12 @@ public class AccountController {
         return ResponseEntity.ok(accountService.createAccount(request));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse<AccountResponse>> createAccounts(
+            @Valid @RequestBody BatchRequest<AccountRequest> request) {
+        return new ResponseEntity<>(accountService.createAccounts(request.getItems()), HttpStatus.CREATED);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AccountResponse> updateAccount(
             @PathVariable Long id,
@@ -45,11 +58,28 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getAllAccounts());
     }
 
+    // Paged listing with per-account activity; sort is one of name, type, balance, createdAt,
+    // transactionCount, lastTransactionDate, monthInflow or monthOutflow
+    @GetMapping("/overview")
+    public ResponseEntity<PageResponse<AccountOverviewResponse>> getAccountOverview(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "false") boolean activeOnly) {
+        return ResponseEntity.ok(accountService.getAccountOverview(page, size, sort, direction, activeOnly));
+    }
+
     @GetMapping("/active")
     public ResponseEntity<List<AccountResponse>> getActiveAccounts() {
         return ResponseEntity.ok(accountService.getActiveAccounts());
     }
 
+    @GetMapping("/net-worth")
+    public ResponseEntity<NetWorthResponse> getNetWorth(@RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(accountService.getNetWorth(currency));
+    }
+
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<Void> deactivateAccount(@PathVariable Long id) {
         accountService.deactivateAccount(id);
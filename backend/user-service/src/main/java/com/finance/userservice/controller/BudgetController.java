@@ -0,0 +1,52 @@
+package com.finance.userservice.controller;
+
+import com.finance.userservice.dto.request.BudgetRequest;
+import com.finance.userservice.dto.response.BudgetResponse;
+import com.finance.userservice.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/budgets")
+@RequiredArgsConstructor
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @PostMapping
+    public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request) {
+        return new ResponseEntity<>(budgetService.createBudget(request), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetResponse> updateBudget(
+            @PathVariable Long id,
+            @Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.ok(budgetService.updateBudget(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
+        budgetService.deleteBudget(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BudgetResponse> getBudgetStatus(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(budgetService.getBudgetStatus(id, date));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BudgetResponse>> getAllBudgets() {
+        return ResponseEntity.ok(budgetService.getAllBudgets());
+    }
+}
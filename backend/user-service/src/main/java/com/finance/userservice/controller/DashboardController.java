@@ -0,0 +1,23 @@
+package com.finance.userservice.controller;
+
+import com.finance.userservice.dto.response.DashboardResponse;
+import com.finance.userservice.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(@RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(dashboardService.getDashboard(currency));
+    }
+}
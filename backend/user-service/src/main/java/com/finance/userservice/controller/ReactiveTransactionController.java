@@ -0,0 +1,37 @@
+package com.finance.userservice.controller;
+
+import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+// Streaming variants of GET /api/v1/transactions and /account/{id} as NDJSON or server-sent events.
+// Spring MVC releases the servlet thread, requests rows from R2DBC as each write completes, and no JDBC
+// connection is held; authentication is still done by the servlet JwtAuthenticationFilter.
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@ConditionalOnExpression("${reactive.enabled:false} and !${sharding.enabled:false}")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService reactiveTransactionService;
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TransactionResponse> streamTransactions(Authentication authentication) {
+        return reactiveTransactionService.streamTransactions(authentication.getName());
+    }
+
+    @GetMapping(value = "/account/{accountId}/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TransactionResponse> streamTransactionsByAccount(Authentication authentication,
+                                                                 @PathVariable Long accountId) {
+        return reactiveTransactionService.streamTransactionsByAccount(authentication.getName(), accountId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.finance.userservice.controller;
+
+import com.finance.userservice.dto.request.RecurringRuleRequest;
+import com.finance.userservice.dto.response.RecurringPatternResponse;
+import com.finance.userservice.dto.response.RecurringRuleResponse;
+import com.finance.userservice.service.RecurringRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/recurring-rules")
+@RequiredArgsConstructor
+public class RecurringRuleController {
+
+    private final RecurringRuleService recurringRuleService;
+
+    @PostMapping
+    public ResponseEntity<RecurringRuleResponse> createRule(@Valid @RequestBody RecurringRuleRequest request) {
+        return new ResponseEntity<>(recurringRuleService.createRule(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringRuleResponse>> getAllRules() {
+        return ResponseEntity.ok(recurringRuleService.getAllRules());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        recurringRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/detected")
+    public ResponseEntity<List<RecurringPatternResponse>> detectRecurringPatterns() {
+        return ResponseEntity.ok(recurringRuleService.detectRecurringPatterns());
+    }
+}
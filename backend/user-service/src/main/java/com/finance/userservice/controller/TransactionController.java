@@ -1,14 +1,30 @@
 package com.finance.userservice.controller;
 
+import com.finance.userservice.dto.request.BatchRequest;
 import com.finance.userservice.dto.request.TransactionRequest;
+import com.finance.userservice.dto.request.TransactionUpdateItem;
+import com.finance.userservice.dto.request.TransferRequest;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.CategoryTotalResponse;
+import com.finance.userservice.dto.response.PageResponse;
 import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.dto.response.TransactionSummaryResponse;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.json.TransactionJsonWriter;
+import com.finance.userservice.service.IdempotencyService;
+import com.finance.userservice.service.IdempotentResult;
 import com.finance.userservice.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,10 +33,60 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionJsonWriter transactionJsonWriter;
 
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request) {
-        return new ResponseEntity<>(transactionService.createTransaction(request), HttpStatus.CREATED);
+    public ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(transactionService.createTransaction(request), HttpStatus.CREATED);
+        }
+
+        IdempotentResult<TransactionResponse> result = idempotencyService.execute(
+                idempotencyKey, request, TransactionResponse.class, () -> transactionService.createTransaction(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                .body(result.getResponse());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse<TransactionResponse>> createTransactions(
+            @Valid @RequestBody BatchRequest<TransactionRequest> request) {
+        return new ResponseEntity<>(transactionService.createTransactions(request.getItems()), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/transfers")
+    public ResponseEntity<TransactionResponse> createTransfer(
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(transactionService.createTransfer(request), HttpStatus.CREATED);
+        }
+
+        IdempotentResult<TransactionResponse> result = idempotencyService.execute(
+                idempotencyKey, request, TransactionResponse.class, () -> transactionService.createTransfer(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                .body(result.getResponse());
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchResponse<TransactionResponse>> createTransfers(
+            @Valid @RequestBody BatchRequest<TransferRequest> request) {
+        return new ResponseEntity<>(transactionService.createTransfers(request.getItems()), HttpStatus.CREATED);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResponse<TransactionResponse>> updateTransactions(
+            @Valid @RequestBody BatchRequest<TransactionUpdateItem> request) {
+        return ResponseEntity.ok(transactionService.updateTransactions(request.getItems()));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse<Long>> deleteTransactions(@Valid @RequestBody BatchRequest<Long> request) {
+        return ResponseEntity.ok(transactionService.deleteTransactions(request.getItems()));
     }
 
     @GetMapping("/{id}")
@@ -28,14 +94,44 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.getTransactionById(id));
     }
 
+    // Full histories are streamed straight from the DB cursor (see TransactionJsonWriter)
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getAllTransactions() {
-        return ResponseEntity.ok(transactionService.getAllTransactions());
+    public void getAllTransactions(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        transactionJsonWriter.writeArray(request, response, transactionService::forEachTransaction);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<TransactionResponse>> searchTransactions(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(transactionService.searchTransactions(query, page, size));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<TransactionSummaryResponse> getTransactionSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(transactionService.getTransactionSummary(from, to, currency));
+    }
+
+    @GetMapping("/summary/categories")
+    public ResponseEntity<List<CategoryTotalResponse>> getCategoryTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(transactionService.getCategoryTotals(from, to, type, currency));
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccount(@PathVariable Long accountId) {
-        return ResponseEntity.ok(transactionService.getTransactionsByAccount(accountId));
+    public void getTransactionsByAccount(
+            @PathVariable Long accountId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        transactionJsonWriter.writeArray(request, response,
+                sink -> transactionService.forEachTransactionByAccount(accountId, sink));
     }
 
     @PutMapping("/{id}")
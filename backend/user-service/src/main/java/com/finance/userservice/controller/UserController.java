@@ -2,7 +2,6 @@ package com.finance.userservice.controller;
 
 import com.finance.userservice.dto.request.UserRegistrationRequest;
 import com.finance.userservice.dto.response.UserResponse;
-import com.finance.userservice.entity.User;
 import com.finance.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +19,7 @@ public class UserController {
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserResponse> getCurrentUser() {
-        User user = userService.getCurrentUser();
-        return ResponseEntity.ok(userService.getUserById(user.getId()));
+        return ResponseEntity.ok(userService.getCurrentUserResponse());
     }
 
     @GetMapping("/{id}")
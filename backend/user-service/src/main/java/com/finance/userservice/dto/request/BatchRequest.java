@@ -0,0 +1,19 @@
+package com.finance.userservice.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequest<T> {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "A batch may contain at most " + MAX_ITEMS + " items")
+    @Valid
+    private List<T> items;
+}
@@ -0,0 +1,22 @@
+package com.finance.userservice.dto.request;
+
+import com.finance.userservice.entity.Budget.BudgetPeriod;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BudgetRequest {
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @NotNull(message = "Budget period is required")
+    private BudgetPeriod period;
+
+    @NotNull(message = "Limit amount is required")
+    @Positive(message = "Limit amount must be positive")
+    private BigDecimal limitAmount;
+}
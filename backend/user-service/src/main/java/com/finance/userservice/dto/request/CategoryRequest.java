@@ -0,0 +1,12 @@
+package com.finance.userservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CategoryRequest {
+    @NotBlank(message = "Category name is required")
+    private String name;
+
+    private Long parentId; // null for a top-level category
+}
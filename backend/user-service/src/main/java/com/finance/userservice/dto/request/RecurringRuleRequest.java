@@ -0,0 +1,38 @@
+package com.finance.userservice.dto.request;
+
+import com.finance.userservice.entity.RecurringRule.Frequency;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RecurringRuleRequest {
+
+    @NotNull(message = "Amount is required")
+    @PositiveOrZero(message = "Amount must be zero or positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    private String description;
+
+    private String category;
+
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @NotNull(message = "Account is required")
+    private Long accountId;
+
+    private Long transferAccountId; // Destination account; required for TRANSFER, rejected otherwise
+}
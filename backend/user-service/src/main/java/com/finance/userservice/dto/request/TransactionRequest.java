@@ -27,4 +27,6 @@ public class TransactionRequest {
 
     @NotNull(message = "Account is required")
     private Long accountId;
+
+    private Long transferAccountId; // Destination account; required for TRANSFER, rejected otherwise
 } 
\ No newline at end of file
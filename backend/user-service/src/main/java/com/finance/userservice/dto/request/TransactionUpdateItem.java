@@ -0,0 +1,13 @@
+package com.finance.userservice.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TransactionUpdateItem extends TransactionRequest {
+
+    @NotNull(message = "Transaction id is required")
+    private Long id;
+}
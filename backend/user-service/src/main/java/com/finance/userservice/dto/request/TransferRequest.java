@@ -0,0 +1,29 @@
+package com.finance.userservice.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class TransferRequest {
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transfer date is required")
+    private LocalDateTime date;
+
+    private String description;
+
+    private String category;
+
+    @NotNull(message = "Source account is required")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account is required")
+    private Long destinationAccountId;
+}
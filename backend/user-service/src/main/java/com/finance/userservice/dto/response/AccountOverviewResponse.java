@@ -0,0 +1,16 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AccountOverviewResponse extends AccountResponse {
+    private long transactionCount;          // Both sides of transfers count
+    private LocalDateTime lastTransactionDate;
+    private BigDecimal monthToDateInflow;   // Income and transfers in, since the 1st of the current month
+    private BigDecimal monthToDateOutflow;  // Expenses and transfers out
+}
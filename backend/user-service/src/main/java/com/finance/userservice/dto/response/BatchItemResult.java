@@ -0,0 +1,23 @@
+package com.finance.userservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    private int index; // Position of the item in the request
+    private boolean success;
+    private T result;
+    private String error;
+
+    public static <T> BatchItemResult<T> success(int index, T result) {
+        return new BatchItemResult<>(index, true, result, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, String error) {
+        return new BatchItemResult<>(index, false, null, error);
+    }
+}
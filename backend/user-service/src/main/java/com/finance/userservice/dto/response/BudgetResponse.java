@@ -0,0 +1,22 @@
+package com.finance.userservice.dto.response;
+
+import com.finance.userservice.entity.Budget.BudgetPeriod;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class BudgetResponse {
+    private Long id;
+    private String category;
+    private BudgetPeriod period;
+    private BigDecimal limitAmount;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
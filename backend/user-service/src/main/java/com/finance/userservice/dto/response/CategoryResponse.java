@@ -0,0 +1,13 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CategoryResponse {
+    private Long id;
+    private String name;
+    private Long parentId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CategoryTotalResponse {
+    private Long categoryId; // null for uncategorised transactions
+    private String category;
+    private Long parentId;   // Lets clients roll subcategories up into their parents
+    private BigDecimal total;
+    private long count;
+}
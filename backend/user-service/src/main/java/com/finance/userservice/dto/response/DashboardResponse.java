@@ -0,0 +1,14 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DashboardResponse {
+    private UserResponse user;
+    private List<AccountResponse> accounts; // Active accounts only
+    private NetWorthResponse netWorth;
+    private List<TransactionResponse> recentTransactions;
+    private TransactionSummaryResponse monthToDate;
+}
@@ -0,0 +1,17 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class NetWorthResponse {
+    private String currency;
+    private BigDecimal assets;
+    private BigDecimal liabilities;
+    private BigDecimal netWorth;
+    private Map<String, BigDecimal> netWorthByCurrency; // Unconverted, in each account currency
+    private LocalDate ratesAsOf;
+}
@@ -0,0 +1,20 @@
+package com.finance.userservice.dto.response;
+
+import com.finance.userservice.entity.RecurringRule.Frequency;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RecurringPatternResponse {
+    private String description;
+    private BigDecimal amount;
+    private TransactionType type;
+    private Long accountId;
+    private Frequency frequency;
+    private int occurrences;
+    private LocalDate lastDate;
+    private LocalDate nextExpectedDate;
+}
@@ -0,0 +1,26 @@
+package com.finance.userservice.dto.response;
+
+import com.finance.userservice.entity.RecurringRule.Frequency;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class RecurringRuleResponse {
+    private Long id;
+    private BigDecimal amount;
+    private TransactionType type;
+    private String description;
+    private String category;
+    private Frequency frequency;
+    private LocalDate nextRunDate;
+    private LocalDate endDate;
+    private boolean active;
+    private Long accountId;
+    private Long transferAccountId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
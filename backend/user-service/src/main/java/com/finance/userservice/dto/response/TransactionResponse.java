@@ -16,6 +16,7 @@ public class TransactionResponse {
     private String description;
     private String category;
     private Long accountId;
+    private Long transferAccountId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.finance.userservice.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class TransactionSummaryResponse {
+    private String currency;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal net;
+    private LocalDate ratesAsOf;
+}
@@ -0,0 +1,92 @@
+package com.finance.userservice.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category", "period"}))
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Column(name = "category_id")
+    private Long categoryId; // Counts spend in this category and every category below it
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false)
+    private BudgetPeriod period;
+
+    @NotNull
+    @Positive
+    @Column(name = "limit_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal limitAmount;
+
+    @NotNull
+    @Column(name = "tracked_from", nullable = false)
+    private LocalDate trackedFrom; // First period start covered by the spend counters
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum BudgetPeriod {
+        WEEKLY,
+        MONTHLY,
+        YEARLY;
+
+        public LocalDate startOf(LocalDate date) {
+            switch (this) {
+                case WEEKLY:
+                    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY:
+                    return date.withDayOfMonth(1);
+                default:
+                    return date.withDayOfYear(1);
+            }
+        }
+
+        // Exclusive end of the period starting at periodStart
+        public LocalDate endOf(LocalDate periodStart) {
+            switch (this) {
+                case WEEKLY:
+                    return periodStart.plusWeeks(1);
+                case MONTHLY:
+                    return periodStart.plusMonths(1);
+                default:
+                    return periodStart.plusYears(1);
+            }
+        }
+    }
+}
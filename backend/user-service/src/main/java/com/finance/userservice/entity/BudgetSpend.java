@@ -0,0 +1,36 @@
+package com.finance.userservice.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Running expense total for one budget period, maintained incrementally by transaction writes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "budget_spend", uniqueConstraints = @UniqueConstraint(columnNames = {"budget_id", "period_start"}))
+public class BudgetSpend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    @NotNull
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @NotNull
+    @Column(name = "spent", nullable = false, precision = 19, scale = 2)
+    private BigDecimal spent;
+}
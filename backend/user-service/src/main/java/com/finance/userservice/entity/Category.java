@@ -0,0 +1,51 @@
+package com.finance.userservice.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "categories", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "normalized_name"}))
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(name = "name", nullable = false)
+    private String name; // Display spelling, as first entered
+
+    @NotBlank
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName; // normalize(name); "Food" and "food " are one category
+
+    // Plain id rather than an association: shard migration copies rows in id order, and a
+    // self-referencing foreign key would reject a child copied before a re-parented parent
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Same rule as the lower(category_trim(...)) migration in schema.sql
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
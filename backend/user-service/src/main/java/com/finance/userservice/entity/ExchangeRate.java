@@ -0,0 +1,42 @@
+package com.finance.userservice.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "fx_rates", uniqueConstraints = @UniqueConstraint(columnNames = {"currency", "rate_date"}))
+public class ExchangeRate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @NotNull
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @NotNull
+    @Positive
+    @Column(name = "rate", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate; // Units of this currency per one unit of the base currency
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,59 @@
+package com.finance.userservice.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Delivery order; also the event id consumers deduplicate on
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private EventType eventType;
+
+    @NotNull
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @NotBlank
+    @Column(name = "partition_key", nullable = false, length = 64)
+    private String partitionKey; // Account id: events with the same key are delivered in order
+
+    @NotBlank
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public enum EventType {
+        ACCOUNT_CREATED,
+        ACCOUNT_UPDATED,
+        ACCOUNT_DELETED,
+        TRANSACTION_CREATED,
+        TRANSACTION_UPDATED,
+        TRANSACTION_DELETED;
+
+        public String aggregateType() {
+            return name().substring(0, name().indexOf('_'));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.finance.userservice.entity;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "recurring_rules")
+public class RecurringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @PositiveOrZero
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    private Frequency frequency;
+
+    @Column(name = "start_date")
+    private LocalDate startDate; // Anchor of the series: every occurrence is startDate plus whole periods
+
+    @NotNull
+    @Column(name = "next_run_date", nullable = false)
+    private LocalDate nextRunDate; // Date of the next occurrence still to be posted
+
+    @Column(name = "end_date")
+    private LocalDate endDate; // Inclusive; null means the rule never ends
+
+    @NotNull
+    @Column(name = "is_active", nullable = false)
+    private boolean active = true;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "transfer_account_id")
+    private Long transferAccountId; // Credited side of a TRANSFER rule; posted with its source in one transaction
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, 1),
+        WEEKLY(ChronoUnit.DAYS, 7),
+        BIWEEKLY(ChronoUnit.DAYS, 14),
+        MONTHLY(ChronoUnit.MONTHS, 1),
+        YEARLY(ChronoUnit.YEARS, 1);
+
+        private final ChronoUnit unit;
+        private final long step;
+
+        Frequency(ChronoUnit unit, long step) {
+            this.unit = unit;
+            this.step = step;
+        }
+
+        public LocalDate occurrence(LocalDate anchor, long n) {
+            return anchor.plus(n * step, unit);
+        }
+
+        // First occurrence after date. Counted from the anchor rather than from the previous occurrence,
+        // so a series on the 31st clamps to Feb 28 and comes back to Mar 31 instead of drifting to the 28th.
+        public LocalDate nextAfter(LocalDate anchor, LocalDate date) {
+            long n = Math.max(0, unit.between(anchor, date) / step);
+            LocalDate next = occurrence(anchor, n);
+            while (!next.isAfter(date)) {
+                next = occurrence(anchor, ++n);
+            }
+            return next;
+        }
+    }
+}
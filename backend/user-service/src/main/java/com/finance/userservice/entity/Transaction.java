@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -18,6 +19,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "transactions")
+// Transactions of a soft-deleted account disappear with it, without touching every row up front
+// (idx_accounts_deleted keeps the anti-join tiny)
+@SQLRestriction("NOT EXISTS (SELECT 1 FROM accounts acc WHERE acc.id = account_id AND acc.deleted_at IS NOT NULL)")
 public class Transaction {
 
     @Id
@@ -41,13 +45,29 @@ public class Transaction {
     @Column(name = "description")
     private String description;
 
-    @Column(name = "category") // Simple String for now, can be an entity later
+    @Column(name = "category") // Display name of categoryId, kept on the row for search_vector and the archive
     private String category;
 
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    // Read-only mapping of category_id; it exists so the schema gets the foreign key
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private Category categoryRef;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
-    private Account account; // Transaction belongs to an account
+    private Account account; // Transaction belongs to an account; the debited side of a TRANSFER
+
+    @Column(name = "transfer_account_id")
+    private Long transferAccountId; // Credited side of a TRANSFER, null for every other type
+
+    // Read-only mapping of transfer_account_id; it exists so the schema gets the foreign key
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transfer_account_id", insertable = false, updatable = false)
+    private Account transferAccountRef;
 
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
@@ -65,6 +85,11 @@ public class Transaction {
     public enum TransactionType {
         INCOME,
         EXPENSE,
-        TRANSFER // Representing transfers might require special handling
+        TRANSFER; // Moves amount from account to transferAccountId in one posting
+
+        // Signed effect of an amount of this type on the account balance (the source side of a transfer)
+        public BigDecimal balanceDelta(BigDecimal amount) {
+            return this == INCOME ? amount : amount.negate();
+        }
     }
 } 
\ No newline at end of file
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,6 +24,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_at IS NULL") // Soft-deleted rows wait for PurgeService
 public class User extends BaseEntity implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -61,6 +63,15 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Set on a shard's copy of the row by ShardMigrationService while the user's rows are moved off
+    // that shard; background jobs leave such users alone (see UserRepository.lockNotMigrating)
+    @Column(name = "migrating", insertable = false, updatable = false,
+            columnDefinition = "boolean not null default false")
+    private boolean migrating;
+
     // Helper methods for managing relationships
     public void addAccount(Account account) {
         accounts.add(account);
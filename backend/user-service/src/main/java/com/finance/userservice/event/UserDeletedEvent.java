@@ -0,0 +1,4 @@
+package com.finance.userservice.event;
+
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,123 @@
+package com.finance.userservice.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Keeps per-user caches coherent across instances. Mutators publish (user, scope) keys; once the
+// transaction commits they go to the other instances through the configured transport, where every
+// cache subscribed to the scope drops that user's entries. The writing instance keeps its own caches
+// current itself (e.g. TransactionColumnCache applies the rows), so keys are never delivered locally.
+// Scopes nobody subscribes to are not sent at all.
+@Slf4j
+@Component
+public class InvalidationBus implements InvalidationReceiver {
+
+    private final InvalidationTransport transport;
+    private final Map<InvalidationScope, List<Subscriber>> subscribers = new EnumMap<>(InvalidationScope.class);
+
+    private final Counter keysSent;
+    private final Counter keysReceived;
+    private final Counter resets;
+
+    public InvalidationBus(InvalidationTransport transport, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        for (InvalidationScope scope : InvalidationScope.values()) {
+            subscribers.put(scope, new CopyOnWriteArrayList<>());
+        }
+        this.keysSent = Counter.builder("cache.invalidation.keys").tag("direction", "sent").register(meterRegistry);
+        this.keysReceived = Counter.builder("cache.invalidation.keys").tag("direction", "received").register(meterRegistry);
+        this.resets = Counter.builder("cache.invalidation.resets").register(meterRegistry);
+        transport.setReceiver(this);
+    }
+
+    private record Subscriber(Consumer<Long> evictUser, Runnable evictAll) {
+    }
+
+    // evictAll runs when the transport may have lost messages, e.g. after a reconnect
+    public void subscribe(InvalidationScope scope, Consumer<Long> evictUser, Runnable evictAll) {
+        subscribers.get(scope).add(new Subscriber(evictUser, evictAll));
+    }
+
+    public void publish(Long userId, InvalidationScope... scopes) {
+        List<String> keys = new ArrayList<>(scopes.length);
+        for (InvalidationScope scope : scopes) {
+            if (!subscribers.get(scope).isEmpty()) {
+                keys.add(scope.key(userId));
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        // After commit, so another instance cannot reload the state that is about to change
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(keys);
+            }
+        });
+    }
+
+    // Everything cached for the user, e.g. once the user is deleted
+    public void publishAll(Long userId) {
+        publish(userId, InvalidationScope.values());
+    }
+
+    @Override
+    public void received(List<String> keys) {
+        for (String key : keys) {
+            InvalidationScope scope = key.isEmpty() ? null : InvalidationScope.ofCode(key.charAt(0));
+            Long userId = scope == null ? null : parseUserId(key);
+            if (userId == null) {
+                log.debug("Ignoring unknown invalidation key {}", key);
+                continue;
+            }
+            keysReceived.increment();
+            for (Subscriber subscriber : subscribers.get(scope)) {
+                dispatch(() -> subscriber.evictUser().accept(userId));
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        resets.increment();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> dispatch(subscriber.evictAll())));
+    }
+
+    private void send(List<String> keys) {
+        transport.send(keys);
+        keysSent.increment(keys.size());
+    }
+
+    private static Long parseUserId(String key) {
+        try {
+            return Long.valueOf(key.substring(1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // Runs on the transport's thread; one failing cache must not keep the others stale
+    private static void dispatch(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            log.error("Cache invalidation failed", ex);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.finance.userservice.invalidation;
+
+import java.util.List;
+
+public interface InvalidationReceiver {
+    void received(List<String> keys);
+
+    void reset();
+}
@@ -0,0 +1,30 @@
+package com.finance.userservice.invalidation;
+
+// What kind of per-user cached state a key invalidates. The code prefixes the user id on the wire
+// ("t42"), so codes must never be reused for a different scope.
+public enum InvalidationScope {
+    USER('u'),
+    ACCOUNTS('a'),
+    TRANSACTIONS('t'),
+    CATEGORIES('c');
+
+    private final char code;
+
+    InvalidationScope(char code) {
+        this.code = code;
+    }
+
+    public String key(Long userId) {
+        return code + userId.toString();
+    }
+
+    // Null for keys sent by a newer version with scopes this one does not know
+    static InvalidationScope ofCode(char code) {
+        for (InvalidationScope scope : values()) {
+            if (scope.code == code) {
+                return scope;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.finance.userservice.invalidation;
+
+import java.util.Collection;
+
+public interface InvalidationTransport {
+    // Must not block the caller; delivery to the other instances is asynchronous and best effort
+    void send(Collection<String> keys);
+
+    // Keys from other instances only. reset() is called whenever messages may have been missed.
+    void setReceiver(InvalidationReceiver receiver);
+}
@@ -0,0 +1,20 @@
+package com.finance.userservice.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Single-instance deployments: every cache already sees every write, so nothing is sent
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "none")
+public class NoopInvalidationTransport implements InvalidationTransport {
+
+    @Override
+    public void send(Collection<String> keys) {
+    }
+
+    @Override
+    public void setReceiver(InvalidationReceiver receiver) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.finance.userservice.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// LISTEN/NOTIFY on the main database (the directory shard when sharding is on), so every instance
+// that shares it needs nothing else. One background thread owns one dedicated connection outside the
+// pool: it sends queued keys as space-separated NOTIFY payloads and picks up the other instances'
+// notifications between sends. Its own notifications come back too and are recognised by backend PID.
+// Postgres only delivers to sessions listening at the time, so after every (re)connect the receiver
+// is reset and drops everything it had cached.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationTransport implements InvalidationTransport, SmartLifecycle {
+
+    // NOTIFY payloads must be shorter than 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    // Sending nothing and reading without blocking would never notice a dead connection
+    private static final long KEEPALIVE_NANOS = Duration.ofSeconds(30).toNanos();
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final long pollIntervalMs;
+    private final long reconnectDelayMs;
+    private final BlockingQueue<String> outbound;
+
+    private final Counter dropped;
+    private final Counter reconnects;
+
+    private volatile InvalidationReceiver receiver;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public PostgresInvalidationTransport(MeterRegistry meterRegistry,
+                                         @Value("${spring.datasource.url}") String url,
+                                         @Value("${spring.datasource.username}") String username,
+                                         @Value("${spring.datasource.password}") String password,
+                                         @Value("${cache.invalidation.postgres.channel:cache_invalidation}") String channel,
+                                         @Value("${cache.invalidation.postgres.poll-interval-ms:100}") long pollIntervalMs,
+                                         @Value("${cache.invalidation.postgres.reconnect-delay-ms:5000}") long reconnectDelayMs,
+                                         @Value("${cache.invalidation.queue-capacity:10000}") int queueCapacity) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollIntervalMs = pollIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.outbound = new LinkedBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("cache.invalidation.queue.depth", outbound, BlockingQueue::size).register(meterRegistry);
+        this.dropped = Counter.builder("cache.invalidation.dropped").register(meterRegistry);
+        this.reconnects = Counter.builder("cache.invalidation.reconnects").register(meterRegistry);
+    }
+
+    // A full queue means the connection has been down for a while; the other instances' TTLs cover what is dropped
+    @Override
+    public void send(Collection<String> keys) {
+        for (String key : keys) {
+            if (!outbound.offer(key)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(InvalidationReceiver receiver) {
+        this.receiver = receiver;
+    }
+
+    private void run() {
+        // Survives reconnects: keys taken from the queue are only forgotten once NOTIFY succeeded
+        Set<String> pending = new LinkedHashSet<>();
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                InvalidationReceiver current = receiver;
+                if (current != null) {
+                    current.reset();
+                }
+                listen(connection, pgConnection, pending);
+            } catch (SQLException ex) {
+                log.warn("Cache invalidation connection failed, retrying in {} ms: {}", reconnectDelayMs, ex.getMessage());
+                reconnects.increment();
+                if (!pause(reconnectDelayMs)) {
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection, PGConnection pgConnection, Set<String> pending)
+            throws SQLException, InterruptedException {
+        int backendPid = pgConnection.getBackendPID();
+        long lastRoundTrip = System.nanoTime();
+        try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            notify.setString(1, channel);
+            while (running) {
+                if (pending.isEmpty()) {
+                    String key = outbound.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        pending.add(key);
+                    }
+                }
+                outbound.drainTo(pending);
+                if (!pending.isEmpty()) {
+                    sendPending(notify, pending);
+                    lastRoundTrip = System.nanoTime();
+                } else if (System.nanoTime() - lastRoundTrip > KEEPALIVE_NANOS) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT 1");
+                    }
+                    lastRoundTrip = System.nanoTime();
+                }
+                // Without a timeout this only reads what has already arrived on the socket
+                PGNotification[] notifications = pgConnection.getNotifications();
+                if (notifications != null) {
+                    deliver(notifications, backendPid);
+                }
+            }
+            outbound.drainTo(pending);
+            if (!pending.isEmpty()) {
+                sendPending(notify, pending);
+            }
+        }
+    }
+
+    private void sendPending(PreparedStatement notify, Set<String> pending) throws SQLException {
+        StringBuilder payload = new StringBuilder();
+        int bytes = 0;
+        for (String key : pending) {
+            int keyBytes = key.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes + keyBytes > MAX_PAYLOAD_BYTES) {
+                execute(notify, payload);
+                payload.setLength(0);
+                bytes = 0;
+            }
+            payload.append(key).append(' ');
+            bytes += keyBytes;
+        }
+        execute(notify, payload);
+        pending.clear();
+    }
+
+    private static void execute(PreparedStatement notify, StringBuilder payload) throws SQLException {
+        notify.setString(2, payload.toString().trim());
+        notify.execute();
+    }
+
+    private void deliver(PGNotification[] notifications, int backendPid) {
+        List<String> keys = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            if (notification.getPID() != backendPid && channel.equals(notification.getName())) {
+                keys.addAll(Arrays.asList(notification.getParameter().split(" ")));
+            }
+        }
+        InvalidationReceiver current = receiver;
+        if (current != null && !keys.isEmpty()) {
+            current.received(keys);
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "cache-invalidation");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Like the audit writer: stops after the web server has drained requests, so their keys still go out
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,172 @@
+package com.finance.userservice.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.finance.userservice.repository.projection.TransactionRow;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hand-written serializer for transaction listings. Rows are written to the response as they are
+// read from the database, with the same field names and (by default) the same formats as
+// TransactionResponse, but without a response bean per row or reflective property access.
+// The same writer emits CBOR or Smile when the client asks for them in Accept.
+@Component
+@RequiredArgsConstructor
+public class TransactionJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString DATE = new SerializedString("date");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializableString TRANSFER_ACCOUNT_ID = new SerializedString("transferAccountId");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    public static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // JSON first so that */* and missing Accept headers keep getting JSON
+    private static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private static final JsonFactory CBOR_FACTORY = new CBORFactory();
+    private static final JsonFactory SMILE_FACTORY = new SmileFactory();
+
+    private final ObjectMapper objectMapper;
+
+    // Compact output: dates as UTC epoch milliseconds instead of ISO-8601 strings
+    @Value("${json.transactions.epoch-dates:false}")
+    private boolean epochDates;
+
+    // Compact output: amounts as plain decimal strings ("1250.00"), exact in every client
+    @Value("${json.transactions.decimals-as-strings:false}")
+    private boolean decimalsAsStrings;
+
+    // The producer pushes rows into the given sink, typically while a DB cursor is open
+    public void writeArray(HttpServletRequest request, HttpServletResponse response,
+                           Consumer<Consumer<TransactionRow>> producer) throws IOException {
+        MediaType mediaType = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        response.setContentType(mediaType.toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Closed on every path, before the catch blocks run. Closing must neither end a failed listing as a
+        // well-formed (truncated) array nor close the response stream the exception handler still writes to.
+        try (JsonGenerator generator = factoryFor(mediaType).createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            producer.accept(row -> write(generator, row));
+            generator.writeEndArray();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } catch (RuntimeException ex) {
+            // Lets the exception handler write a clean error body unless rows already went out
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+            }
+            throw ex;
+        }
+    }
+
+    private MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept).stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList();
+        for (MediaType type : accepted) {
+            for (MediaType supported : SUPPORTED) {
+                if (type.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private JsonFactory factoryFor(MediaType mediaType) {
+        if (mediaType.equals(APPLICATION_CBOR)) {
+            return CBOR_FACTORY;
+        }
+        if (mediaType.equals(APPLICATION_SMILE)) {
+            return SMILE_FACTORY;
+        }
+        return objectMapper.getFactory();
+    }
+
+    private void write(JsonGenerator generator, TransactionRow row) {
+        try {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(row.id());
+            generator.writeFieldName(AMOUNT);
+            writeDecimal(generator, row.amount());
+            generator.writeFieldName(TYPE);
+            generator.writeString(row.type().name());
+            generator.writeFieldName(DATE);
+            writeDateTime(generator, row.date());
+            generator.writeFieldName(DESCRIPTION);
+            generator.writeString(row.description());
+            generator.writeFieldName(CATEGORY);
+            generator.writeString(row.category());
+            generator.writeFieldName(ACCOUNT_ID);
+            generator.writeNumber(row.accountId());
+            generator.writeFieldName(TRANSFER_ACCOUNT_ID);
+            if (row.transferAccountId() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(row.transferAccountId());
+            }
+            generator.writeFieldName(CREATED_AT);
+            writeDateTime(generator, row.createdAt());
+            generator.writeFieldName(UPDATED_AT);
+            writeDateTime(generator, row.updatedAt());
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeDecimal(JsonGenerator generator, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (decimalsAsStrings) {
+            generator.writeString(value.toPlainString());
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private void writeDateTime(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (epochDates) {
+            generator.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        } else {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.finance.userservice.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// An amount as a long count of minor units plus its currency. Amounts and balances are stored
+// with scale 2 for every currency, so one minor unit is always 0.01 here. Aggregations add plain
+// longs (see MoneyTotals) and only turn the result into a BigDecimal at the API boundary.
+public record Money(long minorUnits, String currency) {
+
+    public static final int SCALE = 2;
+
+    public BigDecimal toBigDecimal() {
+        return toDecimal(minorUnits);
+    }
+
+    // Rounds half-even like the rest of the money code; throws if the value does not fit a long
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.finance.userservice.money;
+
+import com.finance.userservice.service.FxRateSnapshot;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Running totals in minor units per (currency, bucket), kept in one flat long[]. Callers resolve
+// a currency to its slot once and then add rows with no allocation; conversion happens once per
+// currency and bucket when the result is read, not once per row.
+public final class MoneyTotals {
+
+    private final int buckets;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] currencies = new String[4];
+    private long[] totals;
+
+    public MoneyTotals(int buckets) {
+        this.buckets = buckets;
+        this.totals = new long[currencies.length * buckets];
+    }
+
+    public int slot(String currency) {
+        String normalized = FxRateSnapshot.normalize(currency);
+        Integer slot = slots.get(normalized);
+        if (slot != null) {
+            return slot;
+        }
+        int next = slots.size();
+        if (next == currencies.length) {
+            currencies = Arrays.copyOf(currencies, next * 2);
+            totals = Arrays.copyOf(totals, next * 2 * buckets);
+        }
+        currencies[next] = normalized;
+        slots.put(normalized, next);
+        return next;
+    }
+
+    public void add(int slot, int bucket, long minorUnits) {
+        int index = slot * buckets + bucket;
+        totals[index] = Math.addExact(totals[index], minorUnits);
+    }
+
+    public void add(String currency, int bucket, long minorUnits) {
+        add(slot(currency), bucket, minorUnits);
+    }
+
+    // Unconverted per-currency totals of one bucket, for responses that break amounts down by currency
+    public Map<String, BigDecimal> byCurrency(int bucket) {
+        Map<String, BigDecimal> result = new TreeMap<>();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            Money total = total(slot, bucket);
+            result.put(total.currency(), total.toBigDecimal());
+        }
+        return result;
+    }
+
+    // Exact sum of one bucket across currencies in targetCurrency; callers round once at the end
+    public BigDecimal converted(int bucket, FxRateSnapshot rates, String targetCurrency) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            Money money = total(slot, bucket);
+            if (money.minorUnits() != 0) {
+                total = total.add(money.toBigDecimal().multiply(rates.factor(money.currency(), targetCurrency)));
+            }
+        }
+        return total;
+    }
+
+    private Money total(int slot, int bucket) {
+        return new Money(totals[slot * buckets + bucket], currencies[slot]);
+    }
+}
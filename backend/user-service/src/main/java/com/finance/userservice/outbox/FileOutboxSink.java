@@ -0,0 +1,63 @@
+package com.finance.userservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Appends one JSON line per message to outbox.file.path; a batch is fsynced before it is marked published
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final StringBuilder pending = new StringBuilder();
+
+    private FileChannel channel;
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${outbox.file.path:./data/outbox/events.log}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public void publish(OutboxMessage message) throws IOException {
+        pending.append(objectMapper.writeValueAsString(message)).append('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+        if (channel == null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+        // Cleared up front: on failure the relay re-sends the whole batch, and it must not be written twice here
+        pending.setLength(0);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.finance.userservice.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Bounded queue for consumers living in this JVM. A full queue fails the publish, so the relay keeps the
+// events and retries them in order instead of growing the heap. Delivery survives only as long as the process.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessage> queue;
+
+    public InProcessOutboxSink(@Value("${outbox.in-process.capacity:10000}") int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        if (!queue.offer(message)) {
+            throw new IllegalStateException("In-process outbox queue is full");
+        }
+    }
+
+    public OutboxMessage poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+}
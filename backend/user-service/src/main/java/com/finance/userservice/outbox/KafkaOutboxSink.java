@@ -0,0 +1,71 @@
+package com.finance.userservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+
+// Publishes to any Kafka-protocol broker (Kafka, Redpanda: see the docker-compose "events" profile).
+// The record key is the partition key, so one account's events share a partition; the idempotent
+// producer keeps them in order across its own retries.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "kafka")
+public class KafkaOutboxSink implements OutboxSink, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final KafkaProducer<String, String> producer;
+    private final List<Future<RecordMetadata>> inFlight = new ArrayList<>();
+
+    public KafkaOutboxSink(ObjectMapper objectMapper,
+                           @Value("${outbox.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                           @Value("${outbox.kafka.topic:user-service.events}") String topic) {
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+
+        Properties config = new Properties();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        this.producer = new KafkaProducer<>(config);
+    }
+
+    @Override
+    public void publish(OutboxMessage message) throws IOException {
+        inFlight.add(producer.send(new ProducerRecord<>(topic, message.partitionKey(),
+                objectMapper.writeValueAsString(message))));
+    }
+
+    // Waits for every acknowledgement of the batch; any failure fails the batch and it is sent again
+    @Override
+    public void flush() throws Exception {
+        try {
+            producer.flush();
+            for (Future<RecordMetadata> ack : inFlight) {
+                ack.get();
+            }
+        } finally {
+            inFlight.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        producer.close();
+    }
+}
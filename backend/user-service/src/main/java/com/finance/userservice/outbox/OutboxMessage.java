@@ -0,0 +1,14 @@
+package com.finance.userservice.outbox;
+
+import java.time.LocalDateTime;
+
+// What sinks deliver. id increases per partitionKey; a consumer that has seen an id may drop any redelivery of it.
+public record OutboxMessage(
+        Long id,
+        String aggregateType,
+        Long aggregateId,
+        String eventType,
+        String partitionKey,
+        String payload,
+        LocalDateTime createdAt) {
+}
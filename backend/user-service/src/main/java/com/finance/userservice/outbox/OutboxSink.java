@@ -0,0 +1,10 @@
+package com.finance.userservice.outbox;
+
+public interface OutboxSink {
+    // Throwing holds back this message and every later one with the same partition key until the next poll
+    void publish(OutboxMessage message) throws Exception;
+
+    // Called once per relay batch; events are marked published only after it returns
+    default void flush() throws Exception {
+    }
+}
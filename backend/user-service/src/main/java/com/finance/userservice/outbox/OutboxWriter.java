@@ -0,0 +1,102 @@
+package com.finance.userservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.userservice.entity.Account;
+import com.finance.userservice.entity.OutboxEvent;
+import com.finance.userservice.entity.OutboxEvent.EventType;
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.repository.AccountRepository;
+import com.finance.userservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Records change events in the caller's transaction, so an event exists exactly when its change committed.
+// Call it last in a write: it locks the affected account rows (in id order) before inserting, which makes
+// events of one account take ids in commit order, the order the relay delivers them in.
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void accountsChanged(EventType eventType, Collection<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        lockAccounts(accounts.stream().map(Account::getId).toList());
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Account account : accounts) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", account.getId());
+            payload.put("userId", account.getUser().getId());
+            payload.put("name", account.getName());
+            payload.put("type", account.getType());
+            payload.put("currency", account.getCurrency());
+            payload.put("balance", account.getBalance());
+            payload.put("active", account.isActive());
+            events.add(event(eventType, account.getId(), account.getId(), payload));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionsChanged(EventType eventType, Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<Long> accountIds = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getAccount().getId());
+            if (transaction.getTransferAccountId() != null) {
+                accountIds.add(transaction.getTransferAccountId());
+            }
+        }
+        lockAccounts(accountIds);
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", transaction.getId());
+            payload.put("userId", transaction.getUser().getId());
+            payload.put("accountId", transaction.getAccount().getId());
+            payload.put("transferAccountId", transaction.getTransferAccountId());
+            payload.put("amount", transaction.getAmount());
+            payload.put("type", transaction.getType());
+            payload.put("date", transaction.getDate());
+            payload.put("description", transaction.getDescription());
+            payload.put("category", transaction.getCategory());
+            payload.put("categoryId", transaction.getCategoryId());
+            events.add(event(eventType, transaction.getId(), transaction.getAccount().getId(), payload));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private void lockAccounts(Collection<Long> accountIds) {
+        accountRepository.lockByIds(new TreeSet<>(accountIds));
+    }
+
+    private OutboxEvent event(EventType eventType, Long aggregateId, Long accountId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        event.setPartitionKey(String.valueOf(accountId));
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize outbox payload", ex);
+        }
+        return event;
+    }
+}
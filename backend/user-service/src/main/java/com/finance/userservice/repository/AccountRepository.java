@@ -2,9 +2,22 @@ package com.finance.userservice.repository;
 
 import com.finance.userservice.entity.Account;
 import com.finance.userservice.entity.User;
+import com.finance.userservice.repository.projection.AccountBalanceTotalRow;
+import com.finance.userservice.repository.projection.AccountCurrencyRow;
+import com.finance.userservice.repository.projection.AccountOverviewRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +27,93 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserAndActiveTrue(User user);
     Optional<Account> findByIdAndUser(Long id, User user);
     boolean existsByNameAndUser(String name, User user);
-} 
\ No newline at end of file
+
+    @Query("SELECT a.name FROM Account a WHERE a.user = :user AND a.name IN :names")
+    List<String> findExistingNames(@Param("user") User user, @Param("names") Collection<String> names);
+
+    // Locks in ascending id order so concurrent batches touching the same accounts cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.user = :user AND a.id IN :ids ORDER BY a.id")
+    List<Account> findByUserAndIdInForUpdate(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    // Across users, for the recurring job's batches; same id order as findByUserAndIdInForUpdate
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Same lock order as findByUserAndIdInForUpdate, but no entities: transferBalance moves the balances
+    // in SQL, which would leave loaded ones stale
+    @Query(value = "SELECT id, currency FROM accounts WHERE user_id = :userId AND id IN (:ids) AND deleted_at IS NULL " +
+                   "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<AccountCurrencyRow> lockCurrenciesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Both sides of a transfer in one statement. The source row only matches while its balance covers
+    // the amount (balance is @PositiveOrZero, which SQL updates bypass), so less than 2 rows means roll back.
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + CASE WHEN id = :sourceId THEN -:amount ELSE :amount END, " +
+                   "updated_at = now() " +
+                   "WHERE id IN (:sourceId, :destinationId) AND (id <> :sourceId OR balance >= :amount)",
+           nativeQuery = true)
+    int transferBalance(@Param("sourceId") Long sourceId, @Param("destinationId") Long destinationId,
+                        @Param("amount") BigDecimal amount);
+
+    @Query("SELECT a.currency AS currency, a.type AS type, SUM(a.balance) AS total FROM Account a " +
+           "WHERE a.user = :user AND a.active = true GROUP BY a.currency, a.type")
+    List<AccountBalanceTotalRow> sumActiveBalancesByCurrencyAndType(@Param("user") User user);
+
+    // A page of accounts and their activity in one statement. Every leg of the user's transactions (both
+    // sides of a transfer) is aggregated per account in a derived table that the accounts LEFT JOIN, so
+    // accounts without activity still list. Month flows only count legs dated in [monthStart, monthEnd).
+    // idle is a sort key only: Spring Data's sort rewriting drops NULLS LAST.
+    @Query(value = """
+            SELECT a.id AS id, a.name AS name, a.type AS type, a.currency AS currency, a.balance AS balance,
+                   a.description AS description, a.active AS active, a.createdAt AS createdAt, a.updatedAt AS updatedAt,
+                   coalesce(s.transactionCount, 0) AS transactionCount, s.lastTransactionDate AS lastTransactionDate,
+                   coalesce(s.monthInflow, 0) AS monthInflow, coalesce(s.monthOutflow, 0) AS monthOutflow,
+                   CASE WHEN s.accountId IS NULL THEN 1 ELSE 0 END AS idle
+            FROM Account a
+            LEFT JOIN (
+                SELECT leg.accountId AS accountId, count(*) AS transactionCount, max(leg.date) AS lastTransactionDate,
+                       sum(CASE WHEN leg.date >= :monthStart AND leg.date < :monthEnd THEN leg.inflow ELSE 0 END) AS monthInflow,
+                       sum(CASE WHEN leg.date >= :monthStart AND leg.date < :monthEnd THEN leg.outflow ELSE 0 END) AS monthOutflow
+                FROM (
+                    SELECT t.account.id AS accountId, t.date AS date,
+                           CASE WHEN t.type = INCOME THEN t.amount ELSE 0 END AS inflow,
+                           CASE WHEN t.type = INCOME THEN 0 ELSE t.amount END AS outflow
+                    FROM Transaction t WHERE t.user = :user
+                    UNION ALL
+                    SELECT t.transferAccountId, t.date, t.amount, 0
+                    FROM Transaction t WHERE t.user = :user AND t.transferAccountId IS NOT NULL
+                ) leg
+                GROUP BY leg.accountId
+            ) s ON s.accountId = a.id
+            WHERE a.user = :user AND (:activeOnly = false OR a.active = true)
+            """,
+           countQuery = "SELECT count(a) FROM Account a WHERE a.user = :user AND (:activeOnly = false OR a.active = true)")
+    Page<AccountOverviewRow> findOverviewByUser(@Param("user") User user,
+                                                @Param("activeOnly") boolean activeOnly,
+                                                @Param("monthStart") LocalDateTime monthStart,
+                                                @Param("monthEnd") LocalDateTime monthEnd,
+                                                Pageable pageable);
+
+    // Native on purpose: soft-deleted rows are invisible to JPQL (see @SQLRestriction on Account)
+    @Modifying
+    @Query(value = "UPDATE accounts SET deleted_at = now() WHERE user_id = :userId AND deleted_at IS NULL",
+           nativeQuery = true)
+    int softDeleteByUserId(@Param("userId") Long userId);
+
+    // Locks the owner like UserRepository.lockNotMigrating, so a purge never races a shard migration
+    @Query(value = "SELECT a.id FROM accounts a JOIN users u ON u.id = a.user_id " +
+                   "WHERE a.deleted_at IS NOT NULL AND NOT u.migrating ORDER BY a.id LIMIT 1 FOR SHARE OF u",
+           nativeQuery = true)
+    Optional<Long> findNextDeletedId();
+
+    @Modifying
+    @Query(value = "DELETE FROM accounts WHERE id = :id", nativeQuery = true)
+    int purgeById(@Param("id") Long id);
+
+    // Row locks in id order. Outbox writers take them before inserting events, so events of one
+    // account get ids in commit order; covers soft-deleted accounts as well.
+    @Query(value = "SELECT id FROM accounts WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+}
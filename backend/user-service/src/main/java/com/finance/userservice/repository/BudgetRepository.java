@@ -0,0 +1,31 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.Budget;
+import com.finance.userservice.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUser(User user);
+
+    Optional<Budget> findByIdAndUser(Long id, User user);
+
+    boolean existsByUserAndCategoryIdAndPeriod(User user, Long categoryId, Budget.BudgetPeriod period);
+
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.categoryId IN :categoryIds")
+    List<Budget> findByUserIdAndCategoryIdIn(@Param("userId") Long userId,
+                                             @Param("categoryIds") Collection<Long> categoryIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM budgets WHERE user_id = :userId", nativeQuery = true)
+    int purgeByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,40 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.BudgetSpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetSpendRepository extends JpaRepository<BudgetSpend, Long> {
+
+    Optional<BudgetSpend> findByBudgetIdAndPeriodStart(Long budgetId, LocalDate periodStart);
+
+    List<BudgetSpend> findByBudgetIdInAndPeriodStartIn(Collection<Long> budgetIds, Collection<LocalDate> periodStarts);
+
+    // Atomic increment; concurrent writers to the same period never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO budget_spend (budget_id, period_start, spent) VALUES (:budgetId, :periodStart, :amount) " +
+                   "ON CONFLICT (budget_id, period_start) DO UPDATE SET spent = budget_spend.spent + EXCLUDED.spent",
+           nativeQuery = true)
+    void addSpend(@Param("budgetId") Long budgetId,
+                  @Param("periodStart") LocalDate periodStart,
+                  @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM BudgetSpend s WHERE s.budget.id = :budgetId")
+    void deleteByBudgetId(@Param("budgetId") Long budgetId);
+
+    @Modifying
+    @Query(value = "DELETE FROM budget_spend WHERE budget_id IN (SELECT id FROM budgets WHERE user_id = :userId)",
+           nativeQuery = true)
+    int purgeByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,49 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.Category;
+import com.finance.userservice.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    List<Category> findByUserId(Long userId);
+
+    Optional<Category> findByIdAndUser(Long id, User user);
+
+    List<Category> findByUserIdAndNormalizedNameIn(Long userId, Collection<String> normalizedNames);
+
+    // Concurrent writers naming the same new category both succeed; the loser's insert is a no-op
+    @Modifying
+    @Query(value = "INSERT INTO categories (user_id, name, normalized_name, created_at) " +
+                   "VALUES (:userId, :name, :normalizedName, now()) " +
+                   "ON CONFLICT (user_id, normalized_name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("name") String name,
+                       @Param("normalizedName") String normalizedName);
+
+    // Rows keep the category's display name next to category_id (search_vector is generated from it)
+    @Modifying
+    @Query(value = "UPDATE transactions SET category = :name WHERE category_id = :categoryId", nativeQuery = true)
+    int renameInTransactions(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying
+    @Query(value = "UPDATE budgets SET category = :name WHERE category_id = :categoryId", nativeQuery = true)
+    int renameInBudgets(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying
+    @Query(value = "UPDATE recurring_rules SET category = :name WHERE category_id = :categoryId", nativeQuery = true)
+    int renameInRecurringRules(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying
+    @Query(value = "DELETE FROM categories WHERE user_id = :userId", nativeQuery = true)
+    int purgeByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,40 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+
+    List<ExchangeRate> findByRateDate(LocalDate rateDate);
+
+    @Query("SELECT MAX(r.rateDate) FROM ExchangeRate r")
+    LocalDate findLatestRateDate();
+
+    @Modifying
+    @Query("DELETE FROM ExchangeRate r WHERE r.rateDate = :rateDate")
+    void deleteByRateDate(@Param("rateDate") LocalDate rateDate);
+
+    // Every replica imports on startup; upserting on the unique key lets them overlap without conflicts
+    @Modifying
+    @Query(value = "INSERT INTO fx_rates (currency, rate_date, rate, created_at) " +
+                   "VALUES (:currency, :rateDate, :rate, now()) " +
+                   "ON CONFLICT (currency, rate_date) DO UPDATE SET rate = EXCLUDED.rate",
+           nativeQuery = true)
+    void upsert(@Param("currency") String currency, @Param("rateDate") LocalDate rateDate, @Param("rate") BigDecimal rate);
+
+    // Currencies dropped from the source since an earlier import of the same day
+    @Modifying
+    @Query("DELETE FROM ExchangeRate r WHERE r.rateDate = :rateDate AND r.currency NOT IN :currencies")
+    void deleteByRateDateAndCurrencyNotIn(@Param("rateDate") LocalDate rateDate,
+                                          @Param("currencies") Collection<String> currencies);
+}
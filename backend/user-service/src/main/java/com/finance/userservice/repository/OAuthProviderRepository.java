@@ -1,7 +1,11 @@
 package com.finance.userservice.repository;
 
 import com.finance.userservice.entity.OAuthProvider;
+import com.finance.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +15,21 @@ public interface OAuthProviderRepository extends JpaRepository<OAuthProvider, Lo
     Optional<OAuthProvider> findByProviderAndProviderId(String provider, String providerId);
     Optional<OAuthProvider> findByUserIdAndProvider(Long userId, String provider);
     boolean existsByProviderAndProviderId(String provider, String providerId);
-} 
\ No newline at end of file
+
+    @Query("SELECT p.user FROM OAuthProvider p WHERE p.provider = :provider AND p.providerId = :providerId")
+    Optional<User> findUserByProviderAndProviderId(@Param("provider") String provider,
+                                                   @Param("providerId") String providerId);
+
+    // Relies on uk_oauth_providers_provider_provider_id (schema.sql)
+    @Modifying
+    @Query(value = "INSERT INTO oauth_providers (provider, provider_id, user_id, created_at) " +
+                   "VALUES (:provider, :providerId, :userId, now()) " +
+                   "ON CONFLICT (provider, provider_id) DO NOTHING", nativeQuery = true)
+    int linkIfAbsent(@Param("provider") String provider,
+                     @Param("providerId") String providerId,
+                     @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM oauth_providers WHERE user_id = :userId", nativeQuery = true)
+    int purgeByUserId(@Param("userId") Long userId);
+}
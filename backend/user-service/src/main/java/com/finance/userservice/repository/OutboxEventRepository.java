@@ -0,0 +1,34 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Served by idx_outbox_events_unpublished (see schema.sql)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    // Same, past the partitions the relay is backing off from
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.partitionKey NOT IN :partitionKeys ORDER BY e.id")
+    List<OutboxEvent> findUnpublishedExcluding(@Param("partitionKeys") Collection<String> partitionKeys, Pageable pageable);
+
+    // Held until the relay's transaction ends; a second relay on the same database skips its turn
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE id IN " +
+                   "(SELECT id FROM outbox_events WHERE published_at < :before LIMIT :limit)", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,32 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.repository.projection.TransactionRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Soft-delete filters are spelled out: @SQLRestriction on the JPA entities does not apply to R2DBC
+@Repository
+public interface ReactiveTransactionRepository extends R2dbcRepository<TransactionRecord, Long> {
+
+    String TRANSACTION_RECORD = "SELECT t.id, t.amount, t.type, t.date, t.description, t.category, " +
+            "t.account_id, t.transfer_account_id, t.created_at, t.updated_at FROM transactions t ";
+
+    String LIVE_ACCOUNT = "NOT EXISTS (SELECT 1 FROM accounts acc WHERE acc.id = t.account_id AND acc.deleted_at IS NOT NULL)";
+
+    @Query("SELECT id FROM users WHERE email = :email AND deleted_at IS NULL")
+    Mono<Long> findUserIdByEmail(@Param("email") String email);
+
+    @Query("SELECT id FROM accounts WHERE user_id = :userId AND deleted_at IS NULL")
+    Flux<Long> findLiveAccountIds(@Param("userId") Long userId);
+
+    @Query(TRANSACTION_RECORD + "WHERE t.user_id = :userId AND " + LIVE_ACCOUNT)
+    Flux<TransactionRecord> streamByUserId(@Param("userId") Long userId);
+
+    // Both sides: transfers into the account are listed with it as well
+    @Query(TRANSACTION_RECORD + "WHERE (t.account_id = :accountId OR t.transfer_account_id = :accountId) AND " + LIVE_ACCOUNT)
+    Flux<TransactionRecord> streamByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,49 @@
+package com.finance.userservice.repository;
+
+import com.finance.userservice.entity.RecurringRule;
+import com.finance.userservice.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    List<RecurringRule> findByUser(User user);
+
+    Optional<RecurringRule> findByIdAndUser(Long id, User user);
+
+    // Oldest due rules first. SKIP LOCKED (lock timeout -2) lets several replicas drain the queue
+    // concurrently without posting the same occurrence twice. Users being moved to another shard are
+    // skipped (see UserRepository.lockNotMigrating for the race with a migration that starts meanwhile).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM RecurringRule r JOIN FETCH r.account JOIN FETCH r.user " +
+           "WHERE r.active = true AND r.nextRunDate <= :today AND r.user.migrating = false " +
+           "ORDER BY r.nextRunDate, r.id")
+    List<RecurringRule> findDueForUpdate(@Param("today") LocalDate today, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM recurring_rules WHERE account_id = :accountId OR transfer_account_id = :accountId",
+           nativeQuery = true)
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query(value = "UPDATE recurring_rules SET is_active = false WHERE user_id = :userId", nativeQuery = true)
+    int deactivateByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM recurring_rules WHERE user_id = :userId", nativeQuery = true)
+    int purgeByUserId(@Param("userId") Long userId);
+}
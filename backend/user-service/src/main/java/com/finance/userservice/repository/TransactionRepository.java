@@ -3,11 +3,26 @@ package com.finance.userservice.repository;
 import com.finance.userservice.entity.Transaction;
 import com.finance.userservice.entity.Account;
 import com.finance.userservice.entity.User;
+import com.finance.userservice.repository.projection.ArchivableSegmentRow;
+import com.finance.userservice.repository.projection.TransactionPatternRow;
+import com.finance.userservice.repository.projection.TransactionRow;
+import com.finance.userservice.repository.projection.TransactionTotalRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -18,6 +33,105 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Optional<Transaction> findByIdAndAccountUser(Long id, User user); // Find a specific transaction by ID and user
 
+    String TRANSACTION_ROW = "SELECT new com.finance.userservice.repository.projection.TransactionRow(" +
+            "t.id, t.amount, t.type, t.date, t.description, t.category, t.account.id, t.transferAccountId, " +
+            "t.createdAt, t.updatedAt) " +
+            "FROM Transaction t ";
+
+    // Same rows as findByAccountUser/findByAccount, streamed for the JSON list writers
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(TRANSACTION_ROW + "WHERE t.account.user = :user")
+    Stream<TransactionRow> streamRowsByAccountUser(@Param("user") User user);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    // Transfers into the account are part of its history too (idx_transactions_transfer_account)
+    @Query(TRANSACTION_ROW + "WHERE t.account = :account OR t.transferAccountRef = :account")
+    Stream<TransactionRow> streamRowsByAccount(@Param("account") Account account);
+
+    // Newest first via idx_transactions_user_date; the page size bounds the result
+    @Query(TRANSACTION_ROW + "WHERE t.user = :user ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRow> findRecentRows(@Param("user") User user, Pageable pageable);
+
+    // Accounts stay lazy on purpose: batch writers lock them afterwards and must read fresh balances
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.id IN :ids")
+    List<Transaction> findByUserAndIdIn(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    // Ranked full-text search backed by the search_vector GIN index and pg_trgm (see schema.sql).
+    // tsQuery is a prefix query such as "coff:* & sho:*"; term is the raw input used for fuzzy matching.
+    @Query(value = """
+            SELECT t.* FROM transactions t
+            WHERE t.user_id = :userId
+              AND (t.search_vector @@ to_tsquery('simple', :tsQuery) OR t.description % :term)
+              AND NOT EXISTS (SELECT 1 FROM accounts acc WHERE acc.id = t.account_id AND acc.deleted_at IS NOT NULL)
+            ORDER BY ts_rank_cd(t.search_vector, to_tsquery('simple', :tsQuery))
+                     + similarity(coalesce(t.description, ''), :term) DESC,
+                     t.date DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM transactions t
+            WHERE t.user_id = :userId
+              AND (t.search_vector @@ to_tsquery('simple', :tsQuery) OR t.description % :term)
+              AND NOT EXISTS (SELECT 1 FROM accounts acc WHERE acc.id = t.account_id AND acc.deleted_at IS NOT NULL)
+            """,
+            nativeQuery = true)
+    Page<Transaction> search(@Param("userId") Long userId,
+                             @Param("tsQuery") String tsQuery,
+                             @Param("term") String term,
+                             Pageable pageable);
+
+    // Rows sorted so that identical (description, amount, type, account) runs are adjacent,
+    // letting recurring pattern detection work in a single streaming pass. The description key must be
+    // the one PatternRun compares: btrim strips spaces only, and so does PatternRun.
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT t.description AS description, t.amount AS amount, t.type AS type, " +
+           "t.account.id AS accountId, t.date AS date FROM Transaction t " +
+           "WHERE t.user = :user AND t.description IS NOT NULL " +
+           "ORDER BY lower(function('btrim', t.description)), t.amount, t.type, t.account.id, t.date")
+    Stream<TransactionPatternRow> streamPatternRows(@Param("user") User user);
+
+    // categoryIds is a category with its whole subtree (CategoryDictionary.withDescendants)
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type " +
+           "AND t.categoryId IN :categoryIds AND t.date >= :from AND t.date < :to")
+    BigDecimal sumAmountByCategoryIdsBetween(@Param("userId") Long userId,
+                                             @Param("type") Transaction.TransactionType type,
+                                             @Param("categoryIds") Collection<Long> categoryIds,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.account.currency AS currency, t.type AS type, SUM(t.amount) AS total FROM Transaction t " +
+           "WHERE t.user = :user AND t.date >= :from AND t.date < :to GROUP BY t.account.currency, t.type")
+    List<TransactionTotalRow> sumByCurrencyAndTypeBetween(@Param("user") User user,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    // Bounded purge step for a soft-deleted account; PostgreSQL has no DELETE ... LIMIT
+    @Modifying
+    @Query(value = "DELETE FROM transactions WHERE id IN " +
+                   "(SELECT id FROM transactions WHERE account_id = :accountId LIMIT :limit)", nativeQuery = true)
+    int purgeBatchByAccountId(@Param("accountId") Long accountId, @Param("limit") int limit);
+
+    // Runs before a purged account's row goes: transfers into it keep their source side
+    @Modifying
+    @Query(value = "UPDATE transactions SET transfer_account_id = NULL WHERE transfer_account_id = :accountId",
+           nativeQuery = true)
+    int detachTransfersTo(@Param("accountId") Long accountId);
+
+    // User-years that still hold rows older than the archive cutoff, oldest first; users being moved
+    // to another shard wait for the next run
+    @Query("SELECT t.user.id AS userId, extract(year from t.date) AS year FROM Transaction t " +
+           "WHERE t.date < :cutoff AND t.user.migrating = false GROUP BY t.user.id, extract(year from t.date) " +
+           "ORDER BY extract(year from t.date), t.user.id")
+    List<ArchivableSegmentRow> findArchivableSegments(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.user.id = :userId AND t.date >= :from AND t.date < :to")
+    List<TransactionRow> findRowsByUserIdBetween(@Param("userId") Long userId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM transactions WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     // You can add more specific query methods here as needed,
     // e.g., findByAccountAndType, findByAccountAndDateBetween, etc.
 } 
\ No newline at end of file
@@ -2,13 +2,59 @@ package com.finance.userservice.repository;
 
 import com.finance.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
     Optional<User> findByOauthProviders_ProviderId(String providerId);
-} 
\ No newline at end of file
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Native, so @SQLRestriction does not hide soft-deleted users: their row keeps the unique email until purged
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = :email)", nativeQuery = true)
+    boolean existsByEmailIncludingDeleted(@Param("email") String email);
+
+    // Race-free first insert: returns the new id, or empty when the email already exists.
+    // OAuth2-only users get an empty password, which never matches a BCrypt check.
+    @Query(value = """
+            INSERT INTO users (first_name, last_name, email, password, enabled, created_at, updated_at)
+            VALUES (:firstName, :lastName, :email, '', true, now(), now())
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("firstName") String firstName,
+                                  @Param("lastName") String lastName,
+                                  @Param("email") String email);
+
+    // A soft-deleted user is purged once all of their accounts are gone. FOR SHARE holds off
+    // ShardMigrationService until the purge commits; a user it has already flagged is skipped.
+    @Query(value = "SELECT u.id FROM users u WHERE u.deleted_at IS NOT NULL AND NOT u.migrating " +
+                   "AND NOT EXISTS (SELECT 1 FROM accounts a WHERE a.user_id = u.id) ORDER BY u.id LIMIT 1 FOR SHARE",
+           nativeQuery = true)
+    Optional<Long> findNextPurgeableId();
+
+    // Background jobs call this before writing users' rows: FOR SHARE makes ShardMigrationService's
+    // flag update wait for the job's transaction, and users it has already flagged are left out
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) AND NOT migrating ORDER BY id FOR SHARE", nativeQuery = true)
+    List<Long> lockNotMigrating(@Param("ids") Collection<Long> ids);
+
+    // Conflicts with the FOR SHARE that ArchiveServiceImpl.archiveSegment holds while it rewrites a year
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockForArchiveRewrite(@Param("id") Long id);
+
+    @Query(value = "SELECT email FROM users WHERE id = :id", nativeQuery = true)
+    Optional<String> findEmailByIdIncludingDeleted(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :id", nativeQuery = true)
+    int purgeById(@Param("id") Long id);
+}
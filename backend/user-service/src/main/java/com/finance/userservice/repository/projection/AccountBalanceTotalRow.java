@@ -0,0 +1,11 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Account.AccountType;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceTotalRow {
+    String getCurrency();
+    AccountType getType();
+    BigDecimal getTotal();
+}
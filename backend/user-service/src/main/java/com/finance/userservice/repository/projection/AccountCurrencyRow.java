@@ -0,0 +1,6 @@
+package com.finance.userservice.repository.projection;
+
+public interface AccountCurrencyRow {
+    Long getId();
+    String getCurrency();
+}
@@ -0,0 +1,22 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Account.AccountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface AccountOverviewRow {
+    Long getId();
+    String getName();
+    AccountType getType();
+    String getCurrency();
+    BigDecimal getBalance();
+    String getDescription();
+    boolean getActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    long getTransactionCount();
+    LocalDateTime getLastTransactionDate();
+    BigDecimal getMonthInflow();
+    BigDecimal getMonthOutflow();
+}
@@ -0,0 +1,6 @@
+package com.finance.userservice.repository.projection;
+
+public interface ArchivableSegmentRow {
+    Long getUserId();
+    Integer getYear();
+}
@@ -0,0 +1,14 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface TransactionPatternRow {
+    String getDescription();
+    BigDecimal getAmount();
+    TransactionType getType();
+    Long getAccountId();
+    LocalDateTime getDate();
+}
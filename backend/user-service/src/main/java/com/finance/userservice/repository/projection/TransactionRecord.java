@@ -0,0 +1,23 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// R2DBC read model of the transactions table for the reactive read path; JPA keeps owning the table
+@Table("transactions")
+public record TransactionRecord(
+        @Id Long id,
+        BigDecimal amount,
+        TransactionType type,
+        LocalDateTime date,
+        String description,
+        String category,
+        Long accountId,
+        Long transferAccountId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,33 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Built by a JPQL constructor expression: no managed entity, no dirty-check snapshot and no
+// lazy account proxy per row, which matters on full-history listings.
+public record TransactionRow(
+        Long id,
+        BigDecimal amount,
+        TransactionType type,
+        LocalDateTime date,
+        String description,
+        String category,
+        Long accountId,
+        Long transferAccountId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public TransactionRow withCategory(String category) {
+        return new TransactionRow(id, amount, type, date, description, category, accountId, transferAccountId,
+                createdAt, updatedAt);
+    }
+
+    public static TransactionRow of(Transaction transaction) {
+        return new TransactionRow(transaction.getId(), transaction.getAmount(), transaction.getType(),
+                transaction.getDate(), transaction.getDescription(), transaction.getCategory(),
+                transaction.getAccount().getId(), transaction.getTransferAccountId(), transaction.getCreatedAt(), transaction.getUpdatedAt());
+    }
+}
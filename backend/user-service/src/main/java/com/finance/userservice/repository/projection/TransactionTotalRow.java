@@ -0,0 +1,11 @@
+package com.finance.userservice.repository.projection;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public interface TransactionTotalRow {
+    String getCurrency();
+    TransactionType getType();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,58 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.repository.projection.ArchivableSegmentRow;
+import com.finance.userservice.service.ArchiveService;
+import com.finance.userservice.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class ArchiveScheduler {
+
+    private final ArchiveService archiveService;
+    private final ShardExecutor shardExecutor;
+
+    @Value("${archive.horizon-days:730}")
+    private int horizonDays;
+
+    @Value("${archive.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(cron = "${archive.cron:0 0 3 * * *}")
+    public void archiveOldTransactions() {
+        // Whole days, so every run on the same day moves the same rows
+        LocalDateTime cutoff = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+        shardExecutor.forEachShard(() -> drain(cutoff));
+    }
+
+    private void drain(LocalDateTime cutoff) {
+        int rows = 0;
+        int segments = 0;
+        try {
+            List<ArchivableSegmentRow> batch;
+            while (!(batch = archiveService.findArchivableSegments(cutoff, batchSize)).isEmpty()) {
+                for (ArchivableSegmentRow segment : batch) {
+                    rows += archiveService.archiveSegment(segment.getUserId(), segment.getYear(), cutoff);
+                    segments++;
+                }
+            }
+        } catch (Exception ex) {
+            // Finished segments stay archived; the failing one is retried on the next run
+            log.error("Archival stopped after {} segments", segments, ex);
+        }
+        if (rows > 0) {
+            log.info("Archived {} transactions into {} segments", rows, segments);
+        }
+    }
+}
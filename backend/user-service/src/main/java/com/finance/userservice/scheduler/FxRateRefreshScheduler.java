@@ -0,0 +1,36 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FxRateRefreshScheduler {
+
+    private final FxRateService fxRateService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        importDailyRates();
+    }
+
+    @Scheduled(cron = "${fx.refresh.cron:0 5 0 * * *}")
+    public void refreshDailyRates() {
+        importDailyRates();
+    }
+
+    // A failed import must not fail startup; conversions keep the previous snapshot until the next run
+    private void importDailyRates() {
+        try {
+            fxRateService.importDailyRates();
+        } catch (Exception ex) {
+            log.error("FX rate import failed", ex);
+        }
+    }
+}
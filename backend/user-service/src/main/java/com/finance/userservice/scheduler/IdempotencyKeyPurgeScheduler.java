@@ -0,0 +1,27 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.service.IdempotencyService;
+import com.finance.userservice.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeScheduler {
+
+    private final IdempotencyService idempotencyService;
+    private final ShardExecutor shardExecutor;
+
+    @Scheduled(cron = "${idempotency.purge.cron:0 30 * * * *}")
+    public void purgeExpiredKeys() {
+        shardExecutor.forEachShard(() -> {
+            int purged = idempotencyService.purgeExpired();
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        });
+    }
+}
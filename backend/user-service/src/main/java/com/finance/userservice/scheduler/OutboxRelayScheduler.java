@@ -0,0 +1,57 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.service.OutboxRelayService;
+import com.finance.userservice.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    private final OutboxRelayService outboxRelayService;
+    private final ShardExecutor shardExecutor;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        shardExecutor.forEachShard(() -> {
+            try {
+                // A fully delivered batch means more may be waiting; anything less waits for the next tick
+                int relayed;
+                do {
+                    relayed = outboxRelayService.relayNextBatch(batchSize);
+                } while (relayed == batchSize);
+            } catch (Exception ex) {
+                // Nothing was marked; the batch is delivered again on the next tick
+                log.error("Outbox relay failed", ex);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron:0 15 * * * *}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        shardExecutor.forEachShard(() -> {
+            int purged;
+            int total = 0;
+            while ((purged = outboxRelayService.purgePublishedBefore(before, batchSize * 5)) > 0) {
+                total += purged;
+            }
+            if (total > 0) {
+                log.debug("Purged {} published outbox events", total);
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.service.PurgeService;
+import com.finance.userservice.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PurgeScheduler {
+
+    private final PurgeService purgeService;
+    private final ShardExecutor shardExecutor;
+
+    @Value("${purge.batch-size:1000}")
+    private int batchSize;
+
+    // Spreads WAL and vacuum load instead of deleting a heavy user in one burst
+    @Value("${purge.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    @Scheduled(fixedDelayString = "${purge.interval-ms:60000}")
+    public void purgeDeletedData() {
+        shardExecutor.forEachShard(this::drain);
+    }
+
+    private void drain() {
+        int rows = 0;
+        int batches = 0;
+        try {
+            int purged;
+            while ((purged = purgeService.purgeNextBatch(batchSize)) > 0) {
+                rows += purged;
+                batches++;
+                Thread.sleep(batchPauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // Completed batches stay committed; the next run resumes where this one stopped
+            log.error("Purge stopped after {} batches", batches, ex);
+        }
+        if (rows > 0) {
+            log.info("Purged {} soft-deleted rows in {} batches", rows, batches);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.finance.userservice.scheduler;
+
+import com.finance.userservice.service.RecurringRuleService;
+import com.finance.userservice.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringTransactionScheduler {
+
+    private final RecurringRuleService recurringRuleService;
+    private final ShardExecutor shardExecutor;
+
+    @Value("${recurring.posting.batch-size:500}")
+    private int batchSize;
+
+    // One run drains every due rule for every user, a bounded batch per DB transaction
+    @Scheduled(cron = "${recurring.posting.cron:0 0 2 * * *}")
+    public void postDueTransactions() {
+        LocalDate today = LocalDate.now();
+        shardExecutor.forEachShard(() -> postDueTransactions(today));
+    }
+
+    private void postDueTransactions(LocalDate today) {
+        long startedAt = System.currentTimeMillis();
+        int batches = 0;
+        int rules = 0;
+
+        try {
+            int processed;
+            while ((processed = recurringRuleService.postDueOccurrences(today, batchSize)) > 0) {
+                rules += processed;
+                batches++;
+            }
+        } catch (Exception ex) {
+            // A failed batch rolls back untouched; the next run retries it
+            log.error("Recurring transaction posting stopped after {} batches", batches, ex);
+        }
+
+        log.info("Posted recurring transactions for {} rules in {} batches ({} ms)",
+                rules, batches, System.currentTimeMillis() - startedAt);
+    }
+}
@@ -1,13 +1,16 @@
 package com.finance.userservice.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.userservice.cache.SingleFlight;
 import com.finance.userservice.dto.response.AuthResponse;
-import com.finance.userservice.entity.OAuthProvider;
-import com.finance.userservice.entity.User;
+import com.finance.userservice.dto.response.UserResponse;
+import com.finance.userservice.exception.EmailAlreadyExistsException;
 import com.finance.userservice.service.UserService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -23,6 +26,10 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+
+    // Concurrent callbacks for the same email (double clicks, several tabs) share one provisioning
+    private final SingleFlight<String, UserResponse> provisioning = new SingleFlight<>();
 
     @Override
     public void onAuthenticationSuccess(
@@ -34,21 +41,30 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         OAuth2User oauth2User = oauthToken.getPrincipal();
         String provider = oauthToken.getAuthorizedClientRegistrationId();
 
+        // The provider's stable subject identifies the link; the email only matches it to a local user
+        String providerId = oauth2User.getName();
         Map<String, Object> attributes = oauth2User.getAttributes();
         String email = (String) attributes.get("email");
         String name = (String) attributes.get("name");
 
-        // Find or create user
-        User user = userService.findOrCreateOAuth2User(email, name, provider);
+        if (email == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "OAuth2 provider did not share an email address");
+            return;
+        }
 
-        // Generate JWT token
-        String jwt = tokenProvider.generateToken(authentication);
+        UserResponse user;
+        try {
+            user = provisioning.execute(email,
+                    () -> userService.provisionOAuth2User(provider, providerId, email, name));
+        } catch (EmailAlreadyExistsException ex) {
+            response.sendError(HttpServletResponse.SC_CONFLICT, ex.getMessage());
+            return;
+        }
 
-        // Create response with token and user info
-        AuthResponse authResponse = new AuthResponse(jwt, userService.getUserById(user.getId()));
+        String jwt = tokenProvider.generateToken(user.getEmail());
 
-        // Write response
-        response.setContentType("application/json");
-        response.getWriter().write(authResponse.toString());
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new AuthResponse(jwt, user));
     }
-} 
\ No newline at end of file
+}
@@ -1,17 +1,26 @@
 package com.finance.userservice.service;
 
 import com.finance.userservice.dto.request.AccountRequest;
+import com.finance.userservice.dto.response.AccountOverviewResponse;
 import com.finance.userservice.dto.response.AccountResponse;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.NetWorthResponse;
+import com.finance.userservice.dto.response.PageResponse;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
 public interface AccountService {
     AccountResponse createAccount(AccountRequest request);
+    BatchResponse<AccountResponse> createAccounts(List<AccountRequest> requests);
     AccountResponse updateAccount(Long id, AccountRequest request);
     void deleteAccount(Long id);
     AccountResponse getAccount(Long id);
     List<AccountResponse> getAllAccounts();
     List<AccountResponse> getActiveAccounts();
+    PageResponse<AccountOverviewResponse> getAccountOverview(int page, int size, String sort, Sort.Direction direction,
+                                                             boolean activeOnly);
     void deactivateAccount(Long id);
     void activateAccount(Long id);
+    NetWorthResponse getNetWorth(String currency);
 } 
\ No newline at end of file
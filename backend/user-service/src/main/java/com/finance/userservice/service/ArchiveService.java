@@ -0,0 +1,14 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.repository.projection.ArchivableSegmentRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchiveService {
+    List<ArchivableSegmentRow> findArchivableSegments(LocalDateTime cutoff, int limit);
+
+    // Moves the user's rows of the given year dated before cutoff into the year's archive segment.
+    // Returns the number of rows moved.
+    int archiveSegment(Long userId, int year, LocalDateTime cutoff);
+}
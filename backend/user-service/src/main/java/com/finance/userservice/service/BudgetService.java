@@ -0,0 +1,43 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.dto.request.BudgetRequest;
+import com.finance.userservice.dto.response.BudgetResponse;
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface BudgetService {
+    BudgetResponse createBudget(BudgetRequest request);
+    BudgetResponse updateBudget(Long id, BudgetRequest request);
+    void deleteBudget(Long id);
+    BudgetResponse getBudgetStatus(Long id, LocalDate date);
+    List<BudgetResponse> getAllBudgets();
+
+    // Spend counter maintenance, called inside the caller's write transaction
+    void recordTransaction(Transaction transaction);
+    void reverseTransaction(Transaction transaction);
+    // Batch form: one budget lookup per user and one counter upsert per (budget, period)
+    void applySpend(Collection<SpendChange> changes);
+
+    // A transaction's effect on spend, captured when recorded or reversed, so a batch can change the
+    // transaction itself before the counters are written
+    record SpendChange(Long userId, TransactionType type, Long categoryId, LocalDate date, BigDecimal amount) {
+
+        public static SpendChange recorded(Transaction transaction) {
+            return of(transaction, transaction.getAmount());
+        }
+
+        public static SpendChange reversed(Transaction transaction) {
+            return of(transaction, transaction.getAmount().negate());
+        }
+
+        private static SpendChange of(Transaction transaction, BigDecimal amount) {
+            return new SpendChange(transaction.getUser().getId(), transaction.getType(), transaction.getCategoryId(),
+                    transaction.getDate().toLocalDate(), amount);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.category.CategoryEntry;
+import com.finance.userservice.dto.request.CategoryRequest;
+import com.finance.userservice.dto.response.CategoryResponse;
+import com.finance.userservice.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CategoryService {
+    List<CategoryResponse> getCategories();
+    CategoryResponse createCategory(CategoryRequest request);
+    CategoryResponse updateCategory(Long id, CategoryRequest request);
+
+    // Find-or-create by name for writers, inside the caller's write transaction; null for a blank name
+    CategoryEntry resolve(User user, String name);
+
+    // Same for a whole batch, keyed by Category.normalize(name); blank names are left out
+    Map<String, CategoryEntry> resolveAll(User user, Collection<String> names);
+}
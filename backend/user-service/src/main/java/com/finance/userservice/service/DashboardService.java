@@ -0,0 +1,7 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.dto.response.DashboardResponse;
+
+public interface DashboardService {
+    DashboardResponse getDashboard(String currency);
+}
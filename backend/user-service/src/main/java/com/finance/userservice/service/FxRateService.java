@@ -0,0 +1,6 @@
+package com.finance.userservice.service;
+
+public interface FxRateService {
+    FxRateSnapshot getSnapshot();
+    void importDailyRates();
+}
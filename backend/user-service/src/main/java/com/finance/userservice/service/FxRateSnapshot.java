@@ -0,0 +1,61 @@
+package com.finance.userservice.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable set of rates for one day. Readers hold on to a snapshot for the whole
+// computation, so a concurrent refresh can never mix rates from two different days.
+public final class FxRateSnapshot {
+
+    private final String baseCurrency;
+    private final LocalDate asOf;
+    private final Map<String, BigDecimal> rates; // Units per one unit of the base currency
+
+    public FxRateSnapshot(String baseCurrency, LocalDate asOf, Map<String, BigDecimal> rates) {
+        this.baseCurrency = normalize(baseCurrency);
+        this.asOf = asOf;
+        Map<String, BigDecimal> copy = new HashMap<>();
+        rates.forEach((currency, rate) -> copy.put(normalize(currency), rate));
+        copy.put(this.baseCurrency, BigDecimal.ONE);
+        this.rates = Map.copyOf(copy);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(normalize(currency));
+    }
+
+    // Multiplier turning an amount in `from` into `to`; resolve it once per currency, then
+    // apply it to every row in that currency.
+    public BigDecimal factor(String from, String to) {
+        return rateOf(to).divide(rateOf(from), MathContext.DECIMAL64);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        return amount.multiply(factor(from, to)).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal rateOf(String currency) {
+        BigDecimal rate = rates.get(normalize(currency));
+        if (rate == null) {
+            throw new IllegalArgumentException("No exchange rate available for currency: " + currency);
+        }
+        return rate;
+    }
+
+    public static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
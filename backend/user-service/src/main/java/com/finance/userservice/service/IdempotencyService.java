@@ -0,0 +1,8 @@
+package com.finance.userservice.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> IdempotentResult<T> execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action);
+    int purgeExpired();
+}
@@ -0,0 +1,11 @@
+package com.finance.userservice.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IdempotentResult<T> {
+    private T response;
+    private boolean replayed; // True when the response came from an earlier request with the same key
+}
@@ -0,0 +1,11 @@
+package com.finance.userservice.service;
+
+import java.time.LocalDateTime;
+
+public interface OutboxRelayService {
+    // Hands up to batchSize undelivered outbox events to the sink, oldest first, and marks the delivered ones.
+    // Returns the number delivered; 0 also when another relay holds this database.
+    int relayNextBatch(int batchSize);
+
+    int purgePublishedBefore(LocalDateTime before, int limit);
+}
@@ -0,0 +1,7 @@
+package com.finance.userservice.service;
+
+public interface PurgeService {
+    // Removes at most about batchSize rows belonging to soft-deleted accounts or users.
+    // Returns the number of rows removed; 0 means nothing is left to purge.
+    int purgeNextBatch(int batchSize);
+}
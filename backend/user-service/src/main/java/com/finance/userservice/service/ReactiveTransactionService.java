@@ -0,0 +1,12 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.dto.response.TransactionResponse;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTransactionService {
+
+    // The owner is passed in: reactive operators do not run on the request thread holding the SecurityContext
+    Flux<TransactionResponse> streamTransactions(String ownerEmail);
+
+    Flux<TransactionResponse> streamTransactionsByAccount(String ownerEmail, Long accountId);
+}
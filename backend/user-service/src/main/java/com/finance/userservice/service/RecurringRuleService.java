@@ -0,0 +1,19 @@
+package com.finance.userservice.service;
+
+import com.finance.userservice.dto.request.RecurringRuleRequest;
+import com.finance.userservice.dto.response.RecurringPatternResponse;
+import com.finance.userservice.dto.response.RecurringRuleResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringRuleService {
+    RecurringRuleResponse createRule(RecurringRuleRequest request);
+    List<RecurringRuleResponse> getAllRules();
+    void deleteRule(Long id);
+    List<RecurringPatternResponse> detectRecurringPatterns();
+
+    // Posts every occurrence due on or before today for up to batchSize rules, across all users.
+    // Returns the number of rules processed; zero means nothing is left to post.
+    int postDueOccurrences(LocalDate today, int batchSize);
+}
@@ -1,23 +1,53 @@
 package com.finance.userservice.service;
 
 import com.finance.userservice.dto.request.TransactionRequest;
+import com.finance.userservice.dto.request.TransactionUpdateItem;
+import com.finance.userservice.dto.request.TransferRequest;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.CategoryTotalResponse;
+import com.finance.userservice.dto.response.PageResponse;
 import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.dto.response.TransactionSummaryResponse;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.repository.projection.TransactionRow;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
 
     TransactionResponse createTransaction(TransactionRequest request);
 
-    TransactionResponse getTransactionById(Long id);
+    TransactionResponse createTransfer(TransferRequest request);
 
-    List<TransactionResponse> getAllTransactions();
+    TransactionResponse getTransactionById(Long id);
 
     List<TransactionResponse> getTransactionsByAccount(Long accountId);
 
+    void forEachTransaction(Consumer<TransactionRow> consumer);
+
+    List<TransactionResponse> getRecentTransactions(int limit);
+
+    void forEachTransactionByAccount(Long accountId, Consumer<TransactionRow> consumer);
+
     TransactionResponse updateTransaction(Long id, TransactionRequest request);
 
     void deleteTransaction(Long id);
 
+    PageResponse<TransactionResponse> searchTransactions(String query, int page, int size);
+
+    BatchResponse<TransactionResponse> createTransactions(List<TransactionRequest> requests);
+
+    BatchResponse<TransactionResponse> updateTransactions(List<TransactionUpdateItem> items);
+
+    BatchResponse<Long> deleteTransactions(List<Long> ids);
+
+    BatchResponse<TransactionResponse> createTransfers(List<TransferRequest> requests);
+
+    TransactionSummaryResponse getTransactionSummary(LocalDate from, LocalDate to, String currency);
+
+    List<CategoryTotalResponse> getCategoryTotals(LocalDate from, LocalDate to, TransactionType type, String currency);
+
     // You can add more methods for filtering, reporting, etc. later
 } 
\ No newline at end of file
@@ -11,5 +11,6 @@ public interface UserService {
     UserResponse updateUser(Long id, UserRegistrationRequest request);
     void deleteUser(Long id);
     User getCurrentUser();
-    User findOrCreateOAuth2User(String email, String name, String provider);
+    UserResponse getCurrentUserResponse();
+    UserResponse provisionOAuth2User(String provider, String providerId, String email, String name);
 } 
\ No newline at end of file
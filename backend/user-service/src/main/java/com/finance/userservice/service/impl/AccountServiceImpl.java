@@ -1,29 +1,77 @@
 package com.finance.userservice.service.impl;
 
+import com.finance.userservice.analytics.TransactionColumnCache;
+import com.finance.userservice.audit.Audited;
+import com.finance.userservice.cache.Coalesced;
 import com.finance.userservice.dto.request.AccountRequest;
+import com.finance.userservice.dto.response.AccountOverviewResponse;
 import com.finance.userservice.dto.response.AccountResponse;
+import com.finance.userservice.dto.response.BatchItemResult;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.NetWorthResponse;
+import com.finance.userservice.dto.response.PageResponse;
 import com.finance.userservice.entity.Account;
+import com.finance.userservice.entity.Account.AccountType;
+import com.finance.userservice.entity.OutboxEvent.EventType;
 import com.finance.userservice.entity.User;
 import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.money.Money;
+import com.finance.userservice.money.MoneyTotals;
+import com.finance.userservice.outbox.OutboxWriter;
 import com.finance.userservice.repository.AccountRepository;
+import com.finance.userservice.repository.RecurringRuleRepository;
+import com.finance.userservice.repository.projection.AccountBalanceTotalRow;
+import com.finance.userservice.repository.projection.AccountOverviewRow;
 import com.finance.userservice.service.AccountService;
+import com.finance.userservice.service.FxRateService;
+import com.finance.userservice.service.FxRateSnapshot;
 import com.finance.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
+    // MoneyTotals buckets of the net worth computation
+    private static final int ASSETS = 0;
+    private static final int LIABILITIES = 1;
+    private static final int NET_WORTH = 2;
+    private static final int NET_WORTH_BUCKETS = 3;
+
+    private static final int MAX_OVERVIEW_PAGE_SIZE = 100;
+    // Sort keys accepted by getAccountOverview, all select aliases of AccountRepository.findOverviewByUser
+    private static final Set<String> OVERVIEW_SORTS = Set.of("name", "type", "balance", "createdAt",
+            "transactionCount", "lastTransactionDate", "monthInflow", "monthOutflow");
+
     private final AccountRepository accountRepository;
+    private final RecurringRuleRepository recurringRuleRepository;
     private final UserService userService;
+    private final FxRateService fxRateService;
+    private final OutboxWriter outboxWriter;
+    private final TransactionColumnCache transactionColumnCache;
+    private final InvalidationBus invalidationBus;
 
     @Override
     @Transactional
+    @Audited(action = "CREATE", entityType = "ACCOUNT")
     public AccountResponse createAccount(AccountRequest request) {
         User currentUser = userService.getCurrentUser();
 
@@ -40,11 +88,56 @@ public class AccountServiceImpl implements AccountService {
         account.setUser(currentUser);
 
         Account savedAccount = accountRepository.save(account);
+        outboxWriter.accountsChanged(EventType.ACCOUNT_CREATED, List.of(savedAccount));
+        invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS);
         return mapToAccountResponse(savedAccount);
     }
 
     @Override
     @Transactional
+    @Audited(action = "BATCH_CREATE", entityType = "ACCOUNT")
+    public BatchResponse<AccountResponse> createAccounts(List<AccountRequest> requests) {
+        User currentUser = userService.getCurrentUser();
+        // One name lookup for the whole batch instead of an exists query per account
+        Set<String> takenNames = new HashSet<>(accountRepository.findExistingNames(currentUser,
+                requests.stream().map(AccountRequest::getName).collect(Collectors.toSet())));
+
+        List<BatchItemResult<AccountResponse>> results = new ArrayList<>();
+        Map<Integer, Account> created = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AccountRequest request = requests.get(i);
+            if (!takenNames.add(request.getName())) {
+                results.add(BatchItemResult.failure(i, "Account with this name already exists"));
+                continue;
+            }
+
+            Account account = new Account();
+            account.setName(request.getName());
+            account.setType(request.getType());
+            account.setCurrency(request.getCurrency());
+            account.setBalance(request.getBalance());
+            account.setDescription(request.getDescription());
+            account.setUser(currentUser);
+            created.put(i, account);
+            results.add(BatchItemResult.success(i, null));
+        }
+
+        accountRepository.saveAll(created.values());
+        outboxWriter.accountsChanged(EventType.ACCOUNT_CREATED, created.values());
+        if (!created.isEmpty()) {
+            invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS);
+        }
+        for (BatchItemResult<AccountResponse> result : results) {
+            if (result.isSuccess()) {
+                result.setResult(mapToAccountResponse(created.get(result.getIndex())));
+            }
+        }
+        return BatchResponse.of(results);
+    }
+
+    @Override
+    @Transactional
+    @Audited(action = "UPDATE", entityType = "ACCOUNT")
     public AccountResponse updateAccount(Long id, AccountRequest request) {
         User currentUser = userService.getCurrentUser();
         Account account = accountRepository.findByIdAndUser(id, currentUser)
@@ -62,16 +155,26 @@ public class AccountServiceImpl implements AccountService {
         account.setDescription(request.getDescription());
 
         Account updatedAccount = accountRepository.save(account);
+        outboxWriter.accountsChanged(EventType.ACCOUNT_UPDATED, List.of(updatedAccount));
+        invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS);
         return mapToAccountResponse(updatedAccount);
     }
 
     @Override
     @Transactional
+    @Audited(action = "DELETE", entityType = "ACCOUNT")
     public void deleteAccount(Long id) {
         User currentUser = userService.getCurrentUser();
         Account account = accountRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
-        accountRepository.delete(account);
+
+        // Hides the account and, through Transaction's restriction, its transactions at once;
+        // the rows themselves are removed in bounded batches by PurgeService
+        account.setDeletedAt(LocalDateTime.now());
+        recurringRuleRepository.deleteByAccountId(id);
+        outboxWriter.accountsChanged(EventType.ACCOUNT_DELETED, List.of(account));
+        transactionColumnCache.evict(currentUser.getId());
+        invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS, InvalidationScope.TRANSACTIONS);
     }
 
     @Override
@@ -84,6 +187,7 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<AccountResponse> getAllAccounts() {
         User currentUser = userService.getCurrentUser();
@@ -101,24 +205,90 @@ public class AccountServiceImpl implements AccountService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AccountOverviewResponse> getAccountOverview(int page, int size, String sort,
+                                                                    Sort.Direction direction, boolean activeOnly) {
+        if (!OVERVIEW_SORTS.contains(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort + "; expected one of " + OVERVIEW_SORTS);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_OVERVIEW_PAGE_SIZE);
+        // Accounts without any transaction go last whichever way activity is sorted; id keeps pages stable
+        Sort order = sort.equals("lastTransactionDate") ? Sort.by("idle").and(Sort.by(direction, sort)) : Sort.by(direction, sort);
+        LocalDate today = LocalDate.now();
+
+        User currentUser = userService.getCurrentUser();
+        return PageResponse.from(accountRepository.findOverviewByUser(currentUser, activeOnly,
+                        today.withDayOfMonth(1).atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                        PageRequest.of(Math.max(page, 0), pageSize, order.and(Sort.by("id"))))
+                .map(this::mapToAccountOverviewResponse));
+    }
+
     @Override
     @Transactional
+    @Audited(action = "DEACTIVATE", entityType = "ACCOUNT")
     public void deactivateAccount(Long id) {
         User currentUser = userService.getCurrentUser();
         Account account = accountRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
         account.setActive(false);
         accountRepository.save(account);
+        outboxWriter.accountsChanged(EventType.ACCOUNT_UPDATED, List.of(account));
+        invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS);
     }
 
     @Override
     @Transactional
+    @Audited(action = "ACTIVATE", entityType = "ACCOUNT")
     public void activateAccount(Long id) {
         User currentUser = userService.getCurrentUser();
         Account account = accountRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
         account.setActive(true);
         accountRepository.save(account);
+        outboxWriter.accountsChanged(EventType.ACCOUNT_UPDATED, List.of(account));
+        invalidationBus.publish(currentUser.getId(), InvalidationScope.ACCOUNTS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NetWorthResponse getNetWorth(String currency) {
+        User currentUser = userService.getCurrentUser();
+        FxRateSnapshot rates = fxRateService.getSnapshot();
+        String targetCurrency = currency != null ? FxRateSnapshot.normalize(currency) : rates.getBaseCurrency();
+        if (!rates.supports(targetCurrency)) {
+            throw new IllegalArgumentException("No exchange rate available for currency: " + currency);
+        }
+
+        // Balances arrive pre-summed per (currency, type) and are accumulated in minor units as
+        // signed net worth; each currency costs one rate lookup
+        MoneyTotals totals = new MoneyTotals(NET_WORTH_BUCKETS);
+        for (AccountBalanceTotalRow row : accountRepository.sumActiveBalancesByCurrencyAndType(currentUser)) {
+            long balance = Money.toMinorUnits(row.getTotal());
+            if (isLiability(row.getType())) {
+                totals.add(row.getCurrency(), LIABILITIES, balance);
+                totals.add(row.getCurrency(), NET_WORTH, -balance);
+            } else {
+                totals.add(row.getCurrency(), ASSETS, balance);
+                totals.add(row.getCurrency(), NET_WORTH, balance);
+            }
+        }
+        BigDecimal assets = totals.converted(ASSETS, rates, targetCurrency);
+        BigDecimal liabilities = totals.converted(LIABILITIES, rates, targetCurrency);
+
+        NetWorthResponse response = new NetWorthResponse();
+        response.setCurrency(targetCurrency);
+        response.setAssets(assets.setScale(2, RoundingMode.HALF_EVEN));
+        response.setLiabilities(liabilities.setScale(2, RoundingMode.HALF_EVEN));
+        response.setNetWorth(assets.subtract(liabilities).setScale(2, RoundingMode.HALF_EVEN));
+        response.setNetWorthByCurrency(totals.byCurrency(NET_WORTH));
+        response.setRatesAsOf(rates.getAsOf());
+        return response;
+    }
+
+    // Balances are stored as positive amounts, so debt accounts count against net worth
+    private static boolean isLiability(AccountType type) {
+        return type == AccountType.CREDIT_CARD || type == AccountType.LOAN;
     }
 
     private AccountResponse mapToAccountResponse(Account account) {
@@ -134,4 +304,22 @@ public class AccountServiceImpl implements AccountService {
         response.setUpdatedAt(account.getUpdatedAt());
         return response;
     }
-} 
\ No newline at end of file
+
+    private AccountOverviewResponse mapToAccountOverviewResponse(AccountOverviewRow row) {
+        AccountOverviewResponse response = new AccountOverviewResponse();
+        response.setId(row.getId());
+        response.setName(row.getName());
+        response.setType(row.getType());
+        response.setCurrency(row.getCurrency());
+        response.setBalance(row.getBalance());
+        response.setDescription(row.getDescription());
+        response.setActive(row.getActive());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setTransactionCount(row.getTransactionCount());
+        response.setLastTransactionDate(row.getLastTransactionDate());
+        response.setMonthToDateInflow(row.getMonthInflow());
+        response.setMonthToDateOutflow(row.getMonthOutflow());
+        return response;
+    }
+}
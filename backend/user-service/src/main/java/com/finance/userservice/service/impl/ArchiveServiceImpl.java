@@ -0,0 +1,77 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.analytics.TransactionColumnCache;
+import com.finance.userservice.archive.TransactionArchive;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.repository.TransactionRepository;
+import com.finance.userservice.repository.UserRepository;
+import com.finance.userservice.repository.projection.ArchivableSegmentRow;
+import com.finance.userservice.repository.projection.TransactionRow;
+import com.finance.userservice.service.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionColumnCache transactionColumnCache;
+    private final InvalidationBus invalidationBus;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArchivableSegmentRow> findArchivableSegments(LocalDateTime cutoff, int limit) {
+        return transactionRepository.findArchivableSegments(cutoff, PageRequest.of(0, limit));
+    }
+
+    // The segment is written and synced before the delete commits. If the delete rolls back, the rows
+    // exist in both places until the next run; readers skip archived ids that are still in the table.
+    @Override
+    @Transactional
+    public int archiveSegment(Long userId, int year, LocalDateTime cutoff) {
+        // The user is being moved to another shard; the next run archives the segment there
+        if (userRepository.lockNotMigrating(List.of(userId)).isEmpty()) {
+            return 0;
+        }
+        LocalDateTime yearStart = LocalDate.of(year, 1, 1).atStartOfDay();
+        LocalDateTime yearEnd = yearStart.plusYears(1);
+        List<TransactionRow> rows = transactionRepository.findRowsByUserIdBetween(
+                userId, yearStart, cutoff.isBefore(yearEnd) ? cutoff : yearEnd);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, TransactionRow> merged = new LinkedHashMap<>();
+        for (TransactionRow row : transactionArchive.readYear(userId, year)) {
+            merged.put(row.id(), row);
+        }
+        for (TransactionRow row : rows) {
+            merged.put(row.id(), row);
+        }
+        transactionArchive.write(userId, year, new ArrayList<>(merged.values()));
+
+        List<Long> ids = rows.stream().map(TransactionRow::id).toList();
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            transactionRepository.deleteByIdIn(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
+        // The user's history is unchanged, but a snapshot load racing this move could have missed the rows
+        transactionColumnCache.evict(userId);
+        invalidationBus.publish(userId, InvalidationScope.TRANSACTIONS);
+        return rows.size();
+    }
+}
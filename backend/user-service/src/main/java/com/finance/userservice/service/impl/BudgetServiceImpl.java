@@ -0,0 +1,254 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.category.CategoryDictionary;
+import com.finance.userservice.category.CategoryDictionary.UserCategories;
+import com.finance.userservice.category.CategoryEntry;
+import com.finance.userservice.dto.request.BudgetRequest;
+import com.finance.userservice.dto.response.BudgetResponse;
+import com.finance.userservice.entity.Budget;
+import com.finance.userservice.entity.BudgetSpend;
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.entity.User;
+import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.repository.BudgetRepository;
+import com.finance.userservice.repository.BudgetSpendRepository;
+import com.finance.userservice.repository.TransactionRepository;
+import com.finance.userservice.service.BudgetService;
+import com.finance.userservice.service.CategoryService;
+import com.finance.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetServiceImpl implements BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetSpendRepository budgetSpendRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final CategoryService categoryService;
+    private final CategoryDictionary categoryDictionary;
+
+    @Override
+    @Transactional
+    public BudgetResponse createBudget(BudgetRequest request) {
+        User currentUser = userService.getCurrentUser();
+        CategoryEntry category = categoryService.resolve(currentUser, request.getCategory());
+
+        if (budgetRepository.existsByUserAndCategoryIdAndPeriod(currentUser, category.id(), request.getPeriod())) {
+            throw new IllegalArgumentException("Budget for this category and period already exists");
+        }
+
+        Budget budget = new Budget();
+        budget.setCategory(category.name());
+        budget.setCategoryId(category.id());
+        budget.setPeriod(request.getPeriod());
+        budget.setLimitAmount(request.getLimitAmount());
+        budget.setTrackedFrom(request.getPeriod().startOf(LocalDate.now()));
+        budget.setUser(currentUser);
+
+        Budget savedBudget = budgetRepository.save(budget);
+        return mapToBudgetResponse(savedBudget, savedBudget.getTrackedFrom(), seedCurrentPeriod(savedBudget));
+    }
+
+    @Override
+    @Transactional
+    public BudgetResponse updateBudget(Long id, BudgetRequest request) {
+        User currentUser = userService.getCurrentUser();
+        Budget budget = budgetRepository.findByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        CategoryEntry category = categoryService.resolve(currentUser, request.getCategory());
+
+        budget.setLimitAmount(request.getLimitAmount());
+        if (budget.getCategoryId() != null && budget.getCategoryId() == category.id()
+                && budget.getPeriod() == request.getPeriod()) {
+            Budget updatedBudget = budgetRepository.save(budget);
+            return getStatus(updatedBudget, LocalDate.now());
+        }
+
+        if (budgetRepository.existsByUserAndCategoryIdAndPeriod(currentUser, category.id(), request.getPeriod())) {
+            throw new IllegalArgumentException("Budget for this category and period already exists");
+        }
+
+        // Counters are keyed by the old category/period, so start tracking afresh
+        budget.setCategory(category.name());
+        budget.setCategoryId(category.id());
+        budget.setPeriod(request.getPeriod());
+        budget.setTrackedFrom(request.getPeriod().startOf(LocalDate.now()));
+        budgetSpendRepository.deleteByBudgetId(budget.getId());
+        Budget updatedBudget = budgetRepository.save(budget);
+        return mapToBudgetResponse(updatedBudget, updatedBudget.getTrackedFrom(), seedCurrentPeriod(updatedBudget));
+    }
+
+    @Override
+    @Transactional
+    public void deleteBudget(Long id) {
+        User currentUser = userService.getCurrentUser();
+        Budget budget = budgetRepository.findByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        budgetSpendRepository.deleteByBudgetId(budget.getId());
+        budgetRepository.delete(budget);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BudgetResponse getBudgetStatus(Long id, LocalDate date) {
+        User currentUser = userService.getCurrentUser();
+        Budget budget = budgetRepository.findByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        return getStatus(budget, date != null ? date : LocalDate.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getAllBudgets() {
+        User currentUser = userService.getCurrentUser();
+        List<Budget> budgets = budgetRepository.findByUser(currentUser);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        Set<Long> budgetIds = budgets.stream().map(Budget::getId).collect(Collectors.toSet());
+        Set<LocalDate> periodStarts = budgets.stream()
+                .map(budget -> budget.getPeriod().startOf(today))
+                .collect(Collectors.toSet());
+
+        // One lookup for every budget's current counter
+        Map<Long, BudgetSpend> currentSpend = budgetSpendRepository
+                .findByBudgetIdInAndPeriodStartIn(budgetIds, periodStarts).stream()
+                .filter(spend -> spend.getPeriodStart().equals(spend.getBudget().getPeriod().startOf(today)))
+                .collect(Collectors.toMap(spend -> spend.getBudget().getId(), spend -> spend));
+
+        return budgets.stream()
+                .map(budget -> {
+                    BudgetSpend spend = currentSpend.get(budget.getId());
+                    return mapToBudgetResponse(budget, budget.getPeriod().startOf(today),
+                            spend != null ? spend.getSpent() : BigDecimal.ZERO);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void recordTransaction(Transaction transaction) {
+        applySpend(List.of(SpendChange.recorded(transaction)));
+    }
+
+    @Override
+    public void reverseTransaction(Transaction transaction) {
+        applySpend(List.of(SpendChange.reversed(transaction)));
+    }
+
+    // Only expenses count against a budget; transfers move money without spending it. A budget on a
+    // parent category also counts spend in its subcategories. Counters are written in (budget, period)
+    // order, so two batches touching the same counters cannot deadlock.
+    @Override
+    public void applySpend(Collection<SpendChange> changes) {
+        Map<Long, List<SpendChange>> byUser = changes.stream()
+                .filter(change -> change.type() == TransactionType.EXPENSE && change.categoryId() != null)
+                .collect(Collectors.groupingBy(SpendChange::userId));
+
+        Map<SpendKey, BigDecimal> spend = new TreeMap<>();
+        byUser.forEach((userId, userChanges) -> {
+            UserCategories categories = categoryDictionary.forUser(userId);
+            Map<Long, long[]> budgetCategories = new HashMap<>();
+            for (SpendChange change : userChanges) {
+                budgetCategories.computeIfAbsent(change.categoryId(), categoryId -> {
+                    long[] ancestors = categories.withAncestors(categoryId);
+                    return ancestors.length > 0 ? ancestors : new long[] {categoryId}; // Created in this transaction, not in the dictionary yet
+                });
+            }
+            Map<Long, List<Budget>> budgets = budgetRepository.findByUserIdAndCategoryIdIn(userId,
+                            budgetCategories.values().stream().flatMapToLong(Arrays::stream).boxed().collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.groupingBy(Budget::getCategoryId));
+
+            for (SpendChange change : userChanges) {
+                for (long categoryId : budgetCategories.get(change.categoryId())) {
+                    for (Budget budget : budgets.getOrDefault(categoryId, List.of())) {
+                        LocalDate periodStart = budget.getPeriod().startOf(change.date());
+                        if (!periodStart.isBefore(budget.getTrackedFrom())) {
+                            spend.merge(new SpendKey(budget.getId(), periodStart), change.amount(), BigDecimal::add);
+                        }
+                    }
+                }
+            }
+        });
+
+        // A row that was reverted and recorded into the same period nets out to no write at all
+        spend.forEach((key, amount) -> {
+            if (amount.signum() != 0) {
+                budgetSpendRepository.addSpend(key.budgetId(), key.periodStart(), amount);
+            }
+        });
+    }
+
+    private record SpendKey(Long budgetId, LocalDate periodStart) implements Comparable<SpendKey> {
+        @Override
+        public int compareTo(SpendKey other) {
+            int byBudget = budgetId.compareTo(other.budgetId);
+            return byBudget != 0 ? byBudget : periodStart.compareTo(other.periodStart);
+        }
+    }
+
+    private BudgetResponse getStatus(Budget budget, LocalDate date) {
+        LocalDate periodStart = budget.getPeriod().startOf(date);
+        BigDecimal spent = budgetSpendRepository.findByBudgetIdAndPeriodStart(budget.getId(), periodStart)
+                .map(BudgetSpend::getSpent)
+                .orElse(BigDecimal.ZERO);
+        return mapToBudgetResponse(budget, periodStart, spent);
+    }
+
+    // Counters only see writes made after the budget exists, so the current period is
+    // aggregated once here; every later status read is a single counter lookup.
+    private BigDecimal seedCurrentPeriod(Budget budget) {
+        LocalDate periodStart = budget.getTrackedFrom();
+        long[] categoryIds = categoryDictionary.forUser(budget.getUser().getId()).withDescendants(budget.getCategoryId());
+        if (categoryIds.length == 0) {
+            categoryIds = new long[] {budget.getCategoryId()};
+        }
+        BigDecimal spent = transactionRepository.sumAmountByCategoryIdsBetween(
+                budget.getUser().getId(),
+                TransactionType.EXPENSE,
+                toList(categoryIds),
+                periodStart.atStartOfDay(),
+                budget.getPeriod().endOf(periodStart).atStartOfDay());
+        if (spent.signum() != 0) {
+            budgetSpendRepository.addSpend(budget.getId(), periodStart, spent);
+        }
+        return spent;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private BudgetResponse mapToBudgetResponse(Budget budget, LocalDate periodStart, BigDecimal spent) {
+        BudgetResponse response = new BudgetResponse();
+        response.setId(budget.getId());
+        response.setCategory(budget.getCategory());
+        response.setPeriod(budget.getPeriod());
+        response.setLimitAmount(budget.getLimitAmount());
+        response.setPeriodStart(periodStart);
+        response.setPeriodEnd(budget.getPeriod().endOf(periodStart));
+        response.setSpent(spent);
+        response.setRemaining(budget.getLimitAmount().subtract(spent));
+        response.setCreatedAt(budget.getCreatedAt());
+        response.setUpdatedAt(budget.getUpdatedAt());
+        return response;
+    }
+}
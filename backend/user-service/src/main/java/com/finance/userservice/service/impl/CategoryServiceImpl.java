@@ -0,0 +1,177 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.analytics.TransactionColumnCache;
+import com.finance.userservice.archive.TransactionArchive;
+import com.finance.userservice.category.CategoryDictionary;
+import com.finance.userservice.category.CategoryDictionary.UserCategories;
+import com.finance.userservice.category.CategoryEntry;
+import com.finance.userservice.dto.request.CategoryRequest;
+import com.finance.userservice.dto.response.CategoryResponse;
+import com.finance.userservice.entity.Category;
+import com.finance.userservice.entity.User;
+import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.repository.CategoryRepository;
+import com.finance.userservice.repository.UserRepository;
+import com.finance.userservice.service.CategoryService;
+import com.finance.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryServiceImpl implements CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final TransactionArchive transactionArchive;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionColumnCache transactionColumnCache;
+    private final UserService userService;
+    private final InvalidationBus invalidationBus;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> getCategories() {
+        User currentUser = userService.getCurrentUser();
+        return categoryRepository.findByUserId(currentUser.getId()).stream()
+                .sorted(Comparator.comparing(Category::getNormalizedName))
+                .map(this::mapToCategoryResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public CategoryResponse createCategory(CategoryRequest request) {
+        User currentUser = userService.getCurrentUser();
+        String name = request.getName().trim();
+        UserCategories categories = categoryDictionary.forUser(currentUser.getId());
+        if (categories.byName(name) != null) {
+            throw new IllegalArgumentException("Category already exists: " + name);
+        }
+        requireParent(categories, request.getParentId());
+
+        Category category = new Category();
+        category.setName(name);
+        category.setNormalizedName(Category.normalize(name));
+        category.setParentId(request.getParentId());
+        category.setUser(currentUser);
+
+        Category savedCategory = categoryRepository.save(category);
+        categoriesChanged(currentUser.getId());
+        return mapToCategoryResponse(savedCategory);
+    }
+
+    @Override
+    @Transactional
+    public CategoryResponse updateCategory(Long id, CategoryRequest request) {
+        User currentUser = userService.getCurrentUser();
+        Category category = categoryRepository.findByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        String name = request.getName().trim();
+        UserCategories categories = categoryDictionary.forUser(currentUser.getId());
+
+        CategoryEntry sameName = categories.byName(name);
+        if (sameName != null && sameName.id() != category.getId()) {
+            throw new IllegalArgumentException("Category already exists: " + name);
+        }
+        requireParent(categories, request.getParentId());
+        if (request.getParentId() != null
+                && Arrays.stream(categories.withAncestors(request.getParentId())).anyMatch(ancestor -> ancestor == id)) {
+            throw new IllegalArgumentException("A category cannot be moved below itself");
+        }
+
+        String previousName = category.getNormalizedName();
+        boolean renamed = !name.equals(category.getName());
+        if (renamed) {
+            // Before the renames below, in the archiver's order: user row first, then transaction rows
+            userRepository.lockForArchiveRewrite(currentUser.getId());
+            category.setName(name);
+            category.setNormalizedName(Category.normalize(name));
+            categoryRepository.renameInTransactions(id, name);
+            categoryRepository.renameInBudgets(id, name);
+            categoryRepository.renameInRecurringRules(id, name);
+            transactionColumnCache.evict(currentUser.getId());
+            invalidationBus.publish(currentUser.getId(), InvalidationScope.TRANSACTIONS);
+        }
+        category.setParentId(request.getParentId());
+
+        Category updatedCategory = categoryRepository.saveAndFlush(category);
+        if (renamed) {
+            // Archived rows only carry the name. Rewritten last, once every statement has succeeded,
+            // so only a failing commit could leave the segments ahead of the table.
+            transactionArchive.rewrite(currentUser.getId(), row -> row.category() != null
+                    && Category.normalize(row.category()).equals(previousName) ? row.withCategory(name) : row);
+        }
+        categoriesChanged(currentUser.getId());
+        return mapToCategoryResponse(updatedCategory);
+    }
+
+    @Override
+    public CategoryEntry resolve(User user, String name) {
+        return resolveAll(user, List.of(name == null ? "" : name)).get(Category.normalize(name));
+    }
+
+    @Override
+    public Map<String, CategoryEntry> resolveAll(User user, Collection<String> names) {
+        UserCategories categories = categoryDictionary.forUser(user.getId());
+        Map<String, CategoryEntry> resolved = new HashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : names) {
+            String normalized = Category.normalize(name);
+            if (normalized.isEmpty() || resolved.containsKey(normalized)) {
+                continue;
+            }
+            CategoryEntry entry = categories.byName(normalized);
+            if (entry != null) {
+                resolved.put(normalized, entry);
+            } else {
+                missing.putIfAbsent(normalized, name.trim());
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        // New names are inserted with the first spelling seen, then read back with whatever id won
+        missing.forEach((normalized, name) -> categoryRepository.insertIfAbsent(user.getId(), name, normalized));
+        for (Category category : categoryRepository.findByUserIdAndNormalizedNameIn(user.getId(), missing.keySet())) {
+            resolved.put(category.getNormalizedName(),
+                    new CategoryEntry(category.getId(), category.getName(), category.getParentId()));
+        }
+        categoriesChanged(user.getId());
+        return resolved;
+    }
+
+    // Dropped after commit here and on every other instance
+    private void categoriesChanged(Long userId) {
+        categoryDictionary.evict(userId);
+        invalidationBus.publish(userId, InvalidationScope.CATEGORIES);
+    }
+
+    private void requireParent(UserCategories categories, Long parentId) {
+        if (parentId != null && categories.byId(parentId) == null) {
+            throw new ResourceNotFoundException("Category not found with id: " + parentId);
+        }
+    }
+
+    private CategoryResponse mapToCategoryResponse(Category category) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(category.getId());
+        response.setName(category.getName());
+        response.setParentId(category.getParentId());
+        response.setCreatedAt(category.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,69 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.dto.response.AccountResponse;
+import com.finance.userservice.dto.response.DashboardResponse;
+import com.finance.userservice.dto.response.NetWorthResponse;
+import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.dto.response.TransactionSummaryResponse;
+import com.finance.userservice.dto.response.UserResponse;
+import com.finance.userservice.service.AccountService;
+import com.finance.userservice.service.DashboardService;
+import com.finance.userservice.service.TransactionService;
+import com.finance.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Deliberately not @Transactional: every section runs concurrently on the fan-out pool in its
+// own read-only transaction, so the response costs the slowest query rather than the sum.
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int RECENT_TRANSACTIONS = 10;
+
+    private final UserService userService;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final ThreadPoolTaskExecutor fanOutExecutor;
+
+    @Override
+    public DashboardResponse getDashboard(String currency) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        CompletableFuture<UserResponse> user = submit(() -> userService.getUserByEmail(email));
+        CompletableFuture<List<AccountResponse>> accounts = submit(accountService::getActiveAccounts);
+        CompletableFuture<NetWorthResponse> netWorth = submit(() -> accountService.getNetWorth(currency));
+        CompletableFuture<List<TransactionResponse>> recentTransactions =
+                submit(() -> transactionService.getRecentTransactions(RECENT_TRANSACTIONS));
+        CompletableFuture<TransactionSummaryResponse> monthToDate =
+                submit(() -> transactionService.getTransactionSummary(null, null, currency));
+
+        try {
+            CompletableFuture.allOf(user, accounts, netWorth, recentTransactions, monthToDate).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        DashboardResponse response = new DashboardResponse();
+        response.setUser(user.join());
+        response.setAccounts(accounts.join());
+        response.setNetWorth(netWorth.join());
+        response.setRecentTransactions(recentTransactions.join());
+        response.setMonthToDate(monthToDate.join());
+        return response;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, fanOutExecutor);
+    }
+}
@@ -0,0 +1,129 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.entity.ExchangeRate;
+import com.finance.userservice.repository.ExchangeRateRepository;
+import com.finance.userservice.service.FxRateService;
+import com.finance.userservice.service.FxRateSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FxRateServiceImpl implements FxRateService {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>();
+
+    @Value("${fx.base-currency:USD}")
+    private String baseCurrency;
+
+    @Value("${fx.rates-location:classpath:fx/rates.csv}")
+    private String ratesLocation;
+
+    @Override
+    public FxRateSnapshot getSnapshot() {
+        FxRateSnapshot current = snapshot.get();
+        if (current == null) {
+            // Nothing loaded yet: only same-currency conversions are possible
+            return new FxRateSnapshot(baseCurrency, null, Map.of());
+        }
+        return current;
+    }
+
+    @Override
+    @Transactional
+    public void importDailyRates() {
+        LocalDate today = LocalDate.now();
+        Map<String, BigDecimal> rates;
+        try {
+            rates = readRates(resourceLoader.getResource(ratesLocation));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read FX rates from {}, keeping the latest stored rates", ratesLocation, ex);
+            loadLatestStoredRates();
+            return;
+        }
+
+        if (rates.isEmpty()) {
+            exchangeRateRepository.deleteByRateDate(today);
+        } else {
+            exchangeRateRepository.deleteByRateDateAndCurrencyNotIn(today, rates.keySet());
+        }
+        // Sorted, so replicas importing at the same time lock the rows in the same order
+        new TreeMap<>(rates).forEach((currency, rate) -> exchangeRateRepository.upsert(currency, today, rate));
+
+        FxRateSnapshot imported = new FxRateSnapshot(baseCurrency, today, rates);
+        publishAfterCommit(imported);
+        log.info("Imported {} FX rates for {}", rates.size(), today);
+    }
+
+    private void loadLatestStoredRates() {
+        LocalDate latest = exchangeRateRepository.findLatestRateDate();
+        if (latest == null) {
+            return;
+        }
+        List<ExchangeRate> stored = exchangeRateRepository.findByRateDate(latest);
+        Map<String, BigDecimal> rates = stored.stream()
+                .collect(Collectors.toMap(ExchangeRate::getCurrency, ExchangeRate::getRate));
+        snapshot.set(new FxRateSnapshot(baseCurrency, latest, rates));
+    }
+
+    // Readers must never see rates that were rolled back, so the swap waits for the commit
+    private void publishAfterCommit(FxRateSnapshot imported) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshot.set(imported);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                snapshot.set(imported);
+            }
+        });
+    }
+
+    private Map<String, BigDecimal> readRates(Resource resource) throws IOException {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("currency,")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed FX rate line: " + line);
+                }
+                BigDecimal rate = new BigDecimal(parts[1].trim());
+                if (rate.signum() <= 0) {
+                    throw new IllegalArgumentException("FX rate must be positive: " + line);
+                }
+                rates.put(FxRateSnapshot.normalize(parts[0]), rate);
+            }
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,151 @@
+package com.finance.userservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.userservice.cache.LruTtlCache;
+import com.finance.userservice.entity.IdempotencyRecord;
+import com.finance.userservice.exception.IdempotencyConflictException;
+import com.finance.userservice.repository.IdempotencyRecordRepository;
+import com.finance.userservice.service.IdempotencyService;
+import com.finance.userservice.service.IdempotentResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${idempotency.cache.max-entries:10000}")
+    private int maxCacheEntries;
+
+    private LruTtlCache<String, CachedResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = new LruTtlCache<>(maxCacheEntries, ttl);
+    }
+
+    @Override
+    public <T> IdempotentResult<T> execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String owner = SecurityContextHolder.getContext().getAuthentication().getName();
+        String cacheKey = owner + '\n' + idempotencyKey;
+        String requestHash = hash(request);
+
+        // Hot path for retries: answered from memory without opening a DB transaction
+        CachedResponse cached = cache.get(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey);
+        if (stored.isPresent() && stored.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            return replay(cacheStored(cacheKey, stored.get(), responseType), requestHash, responseType);
+        }
+
+        try {
+            T response = transactionTemplate.execute(status -> {
+                stored.ifPresent(expired -> {
+                    idempotencyRecordRepository.delete(expired);
+                    idempotencyRecordRepository.flush();
+                });
+
+                // Claiming the key before doing the work makes a concurrent duplicate block on the
+                // unique index until this commits, then fail instead of applying the write twice
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setOwner(owner);
+                record.setIdempotencyKey(idempotencyKey);
+                record.setRequestHash(requestHash);
+                record.setExpiresAt(LocalDateTime.now().plus(ttl));
+                idempotencyRecordRepository.saveAndFlush(record);
+
+                T result = action.get();
+                record.setResponseBody(toJson(result));
+                return result;
+            });
+            cache.put(cacheKey, new CachedResponse(requestHash, response));
+            return new IdempotentResult<>(response, false);
+        } catch (DataIntegrityViolationException ex) {
+            IdempotencyRecord winner = idempotencyRecordRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey)
+                    .orElseThrow(() -> ex);
+            return replay(cacheStored(cacheKey, winner, responseType), requestHash, responseType);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private <T> IdempotentResult<T> replay(CachedResponse cached, String requestHash, Class<T> responseType) {
+        if (!cached.requestHash.equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used with a different request");
+        }
+        return new IdempotentResult<>(responseType.cast(cached.response), true);
+    }
+
+    private <T> CachedResponse cacheStored(String cacheKey, IdempotencyRecord record, Class<T> responseType) {
+        try {
+            CachedResponse cached = new CachedResponse(record.getRequestHash(),
+                    objectMapper.readValue(record.getResponseBody(), responseType));
+            cache.put(cacheKey, cached);
+            return cached;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response could not be read", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint request", ex);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not store idempotent response", ex);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final String requestHash;
+        private final Object response;
+
+        private CachedResponse(String requestHash, Object response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.entity.OutboxEvent;
+import com.finance.userservice.outbox.OutboxMessage;
+import com.finance.userservice.outbox.OutboxSink;
+import com.finance.userservice.repository.OutboxEventRepository;
+import com.finance.userservice.service.OutboxRelayService;
+import com.finance.userservice.sharding.ShardContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+
+    // Advisory lock key ("outbox" in ASCII) that elects one relay per database
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+
+    // Failing partitions per shard ("" without sharding); partition keys are only unique within a database
+    private final Map<String, Map<String, Backoff>> backoffs = new ConcurrentHashMap<>();
+
+    @Value("${outbox.relay.partition-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.partition-backoff-max-ms:300000}")
+    private long maxBackoffMs;
+
+    private record Backoff(int failures, long retryAt) {
+    }
+
+    // At-least-once: events are marked only after the sink has flushed them, so a crash in between
+    // re-sends the batch. A partition that fails once is skipped for the rest of the batch to keep its order,
+    // and left out of the following batches with exponential backoff, so its unpublished head cannot keep
+    // filling every batch and stall the other partitions.
+    @Override
+    @Transactional
+    public int relayNextBatch(int batchSize) {
+        if (!outboxEventRepository.tryAdvisoryXactLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        Map<String, Backoff> shardBackoffs = backoffs.computeIfAbsent(
+                Objects.requireNonNullElse(ShardContext.current(), ""), shard -> new ConcurrentHashMap<>());
+        long now = System.currentTimeMillis();
+        Set<String> backingOff = new HashSet<>();
+        shardBackoffs.forEach((partitionKey, backoff) -> {
+            if (backoff.retryAt() > now) {
+                backingOff.add(partitionKey);
+            }
+        });
+        List<OutboxEvent> batch = backingOff.isEmpty()
+                ? outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize))
+                : outboxEventRepository.findUnpublishedExcluding(backingOff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> heldBack = new HashSet<>();
+        List<OutboxEvent> published = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            if (heldBack.contains(event.getPartitionKey())) {
+                continue;
+            }
+            try {
+                outboxSink.publish(toMessage(event));
+                published.add(event);
+            } catch (Exception ex) {
+                heldBack.add(event.getPartitionKey());
+                Backoff previous = shardBackoffs.get(event.getPartitionKey());
+                int failures = previous != null ? previous.failures() + 1 : 1;
+                long delayMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(failures - 1, 20));
+                shardBackoffs.put(event.getPartitionKey(), new Backoff(failures, now + delayMs));
+                log.warn("Holding back outbox partition {} for {} ms after event {} failed ({} in a row)",
+                        event.getPartitionKey(), delayMs, event.getId(), failures, ex);
+            }
+        }
+
+        try {
+            outboxSink.flush();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Outbox sink failed to flush " + published.size() + " events", ex);
+        }
+        LocalDateTime publishedAt = LocalDateTime.now();
+        published.forEach(event -> {
+            event.setPublishedAt(publishedAt);
+            if (!heldBack.contains(event.getPartitionKey())) {
+                shardBackoffs.remove(event.getPartitionKey());
+            }
+        });
+        return published.size();
+    }
+
+    @Override
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime before, int limit) {
+        return outboxEventRepository.deletePublishedBefore(before, limit);
+    }
+
+    private OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType().aggregateType(), event.getAggregateId(),
+                event.getEventType().name(), event.getPartitionKey(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.archive.TransactionArchive;
+import com.finance.userservice.repository.AccountRepository;
+import com.finance.userservice.repository.BudgetRepository;
+import com.finance.userservice.repository.BudgetSpendRepository;
+import com.finance.userservice.repository.CategoryRepository;
+import com.finance.userservice.repository.IdempotencyRecordRepository;
+import com.finance.userservice.repository.OAuthProviderRepository;
+import com.finance.userservice.repository.RecurringRuleRepository;
+import com.finance.userservice.repository.TransactionRepository;
+import com.finance.userservice.repository.UserRepository;
+import com.finance.userservice.service.PurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurgeServiceImpl implements PurgeService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final UserRepository userRepository;
+    private final BudgetRepository budgetRepository;
+    private final BudgetSpendRepository budgetSpendRepository;
+    private final OAuthProviderRepository oauthProviderRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionArchive transactionArchive;
+
+    // One short transaction per call: accounts drain first, then users whose accounts are all gone
+    @Override
+    @Transactional
+    public int purgeNextBatch(int batchSize) {
+        Optional<Long> accountId = accountRepository.findNextDeletedId();
+        if (accountId.isPresent()) {
+            int purged = transactionRepository.purgeBatchByAccountId(accountId.get(), batchSize);
+            if (purged < batchSize) {
+                purged += recurringRuleRepository.deleteByAccountId(accountId.get());
+                purged += transactionRepository.detachTransfersTo(accountId.get());
+                purged += accountRepository.purgeById(accountId.get());
+            }
+            return purged;
+        }
+
+        Optional<Long> userId = userRepository.findNextPurgeableId();
+        if (userId.isPresent()) {
+            Long id = userId.get();
+            int purged = budgetSpendRepository.purgeByUserId(id);
+            purged += budgetRepository.purgeByUserId(id);
+            purged += recurringRuleRepository.purgeByUserId(id);
+            purged += oauthProviderRepository.purgeByUserId(id);
+            purged += categoryRepository.purgeByUserId(id);
+            Optional<String> email = userRepository.findEmailByIdIncludingDeleted(id);
+            if (email.isPresent()) {
+                purged += idempotencyRecordRepository.deleteByOwner(email.get());
+            }
+            purged += userRepository.purgeById(id);
+            deleteArchiveAfterCommit(id);
+            return purged;
+        }
+        return 0;
+    }
+
+    // A rolled-back purge keeps the user's rows, so their archived history must survive it too.
+    // A failure here leaves only unreachable files behind: the user row is already gone.
+    private void deleteArchiveAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    transactionArchive.deleteUser(userId);
+                } catch (UncheckedIOException ex) {
+                    log.warn("Failed to delete archive of purged user {}", userId, ex);
+                }
+            }
+        });
+    }
+}
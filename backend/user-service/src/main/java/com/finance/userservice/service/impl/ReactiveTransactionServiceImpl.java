@@ -0,0 +1,106 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.archive.TransactionArchive;
+import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.repository.ReactiveTransactionRepository;
+import com.finance.userservice.repository.projection.TransactionRecord;
+import com.finance.userservice.repository.projection.TransactionRow;
+import com.finance.userservice.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Same rows as TransactionService.forEachTransaction/forEachTransactionByAccount, pulled through R2DBC at the
+// subscriber's pace. Sharding routes JDBC per request, which R2DBC has no equivalent for here, so it stays off then.
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression("${reactive.enabled:false} and !${sharding.enabled:false}")
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository reactiveTransactionRepository;
+    private final TransactionArchive transactionArchive;
+
+    @Override
+    public Flux<TransactionResponse> streamTransactions(String ownerEmail) {
+        return findUserId(ownerEmail).flatMapMany(userId -> reactiveTransactionRepository.findLiveAccountIds(userId)
+                .collect(Collectors.toSet())
+                .flatMapMany(liveAccountIds -> merge(userId, row -> liveAccountIds.contains(row.accountId()),
+                        reactiveTransactionRepository.streamByUserId(userId))));
+    }
+
+    @Override
+    public Flux<TransactionResponse> streamTransactionsByAccount(String ownerEmail, Long accountId) {
+        return findUserId(ownerEmail).flatMapMany(userId -> reactiveTransactionRepository.findLiveAccountIds(userId)
+                .collect(Collectors.toSet())
+                .flatMapMany(liveAccountIds -> {
+                    if (!liveAccountIds.contains(accountId)) {
+                        return Flux.error(new ResourceNotFoundException("Account not found with id: " + accountId));
+                    }
+                    // Either side of the row, as long as its source account is live (like LIVE_ACCOUNT on the table)
+                    return merge(userId, row -> liveAccountIds.contains(row.accountId())
+                                    && (row.accountId().equals(accountId) || accountId.equals(row.transferAccountId())),
+                            reactiveTransactionRepository.streamByAccountId(accountId));
+                }));
+    }
+
+    private Mono<Long> findUserId(String ownerEmail) {
+        return reactiveTransactionRepository.findUserIdByEmail(ownerEmail)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with email: " + ownerEmail)));
+    }
+
+    // Archived rows first, then the table minus ids an interrupted archival run left in both, as in TransactionServiceImpl.
+    // Segment files are read on the bounded-elastic pool, never on an R2DBC event loop.
+    private Flux<TransactionResponse> merge(Long userId, Predicate<TransactionRow> archivedFilter, Flux<TransactionRecord> hot) {
+        return Mono.fromCallable(() -> transactionArchive.hasSegments(userId)
+                        ? transactionArchive.read(userId).stream()
+                                .filter(archivedFilter)
+                                .collect(Collectors.toList())
+                        : List.<TransactionRow>of())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(archived -> {
+                    Set<Long> archivedIds = archived.stream().map(TransactionRow::id).collect(Collectors.toSet());
+                    return Flux.fromIterable(archived).map(this::mapToTransactionResponse)
+                            .concatWith(hot.filter(record -> !archivedIds.contains(record.id()))
+                                    .map(this::mapToTransactionResponse));
+                });
+    }
+
+    private TransactionResponse mapToTransactionResponse(TransactionRecord record) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(record.id());
+        response.setAmount(record.amount());
+        response.setType(record.type());
+        response.setDate(record.date());
+        response.setDescription(record.description());
+        response.setCategory(record.category());
+        response.setAccountId(record.accountId());
+        response.setTransferAccountId(record.transferAccountId());
+        response.setCreatedAt(record.createdAt());
+        response.setUpdatedAt(record.updatedAt());
+        return response;
+    }
+
+    private TransactionResponse mapToTransactionResponse(TransactionRow row) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(row.id());
+        response.setAmount(row.amount());
+        response.setType(row.type());
+        response.setDate(row.date());
+        response.setDescription(row.description());
+        response.setCategory(row.category());
+        response.setAccountId(row.accountId());
+        response.setTransferAccountId(row.transferAccountId());
+        response.setCreatedAt(row.createdAt());
+        response.setUpdatedAt(row.updatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,365 @@
+package com.finance.userservice.service.impl;
+
+import com.finance.userservice.analytics.TransactionColumnCache;
+import com.finance.userservice.category.CategoryEntry;
+import com.finance.userservice.dto.request.RecurringRuleRequest;
+import com.finance.userservice.dto.response.RecurringPatternResponse;
+import com.finance.userservice.dto.response.RecurringRuleResponse;
+import com.finance.userservice.entity.Account;
+import com.finance.userservice.entity.OutboxEvent.EventType;
+import com.finance.userservice.entity.RecurringRule;
+import com.finance.userservice.entity.RecurringRule.Frequency;
+import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.entity.User;
+import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.outbox.OutboxWriter;
+import com.finance.userservice.repository.AccountRepository;
+import com.finance.userservice.repository.RecurringRuleRepository;
+import com.finance.userservice.repository.TransactionRepository;
+import com.finance.userservice.repository.UserRepository;
+import com.finance.userservice.repository.projection.TransactionPatternRow;
+import com.finance.userservice.repository.projection.TransactionRow;
+import com.finance.userservice.service.BudgetService;
+import com.finance.userservice.service.CategoryService;
+import com.finance.userservice.service.RecurringRuleService;
+import com.finance.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringRuleServiceImpl implements RecurringRuleService {
+
+    private static final int MIN_PATTERN_OCCURRENCES = 3;
+
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final BudgetService budgetService;
+    private final OutboxWriter outboxWriter;
+    private final TransactionColumnCache transactionColumnCache;
+    private final InvalidationBus invalidationBus;
+    private final CategoryService categoryService;
+
+    @Override
+    @Transactional
+    public RecurringRuleResponse createRule(RecurringRuleRequest request) {
+        User currentUser = userService.getCurrentUser();
+        Account account = accountRepository.findByIdAndUser(request.getAccountId(), currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getAccountId()));
+
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if ((request.getType() == TransactionType.TRANSFER) != (request.getTransferAccountId() != null)) {
+            throw new IllegalArgumentException("transferAccountId is required for TRANSFER rules and not allowed otherwise");
+        }
+        if (request.getTransferAccountId() != null) {
+            Account destination = accountRepository.findByIdAndUser(request.getTransferAccountId(), currentUser)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Account not found with id: " + request.getTransferAccountId()));
+            if (destination.getId().equals(account.getId())) {
+                throw new IllegalArgumentException("A transfer needs two different accounts");
+            }
+            if (!destination.getCurrency().equals(account.getCurrency())) {
+                throw new IllegalArgumentException("Transfers between accounts in different currencies are not supported");
+            }
+        }
+
+        RecurringRule rule = new RecurringRule();
+        rule.setAmount(request.getAmount());
+        rule.setType(request.getType());
+        rule.setDescription(request.getDescription());
+        CategoryEntry category = categoryService.resolve(currentUser, request.getCategory());
+        rule.setCategory(category != null ? category.name() : null);
+        rule.setCategoryId(category != null ? category.id() : null);
+        rule.setFrequency(request.getFrequency());
+        rule.setStartDate(request.getStartDate());
+        rule.setNextRunDate(request.getStartDate());
+        rule.setEndDate(request.getEndDate());
+        rule.setAccount(account);
+        rule.setTransferAccountId(request.getTransferAccountId());
+        rule.setUser(currentUser);
+
+        RecurringRule savedRule = recurringRuleRepository.save(rule);
+        return mapToRecurringRuleResponse(savedRule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringRuleResponse> getAllRules() {
+        User currentUser = userService.getCurrentUser();
+        return recurringRuleRepository.findByUser(currentUser).stream()
+                .map(this::mapToRecurringRuleResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long id) {
+        User currentUser = userService.getCurrentUser();
+        RecurringRule rule = recurringRuleRepository.findByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring rule not found with id: " + id));
+        recurringRuleRepository.delete(rule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringPatternResponse> detectRecurringPatterns() {
+        User currentUser = userService.getCurrentUser();
+        List<RecurringPatternResponse> patterns = new ArrayList<>();
+
+        // Rows arrive grouped by (description, amount, type, account) and ordered by date,
+        // so each candidate only needs its running interval bounds, never the full history.
+        try (Stream<TransactionPatternRow> rows = transactionRepository.streamPatternRows(currentUser)) {
+            Iterator<TransactionPatternRow> iterator = rows.iterator();
+            PatternRun run = null;
+            while (iterator.hasNext()) {
+                TransactionPatternRow row = iterator.next();
+                if (run != null && run.matches(row)) {
+                    run.add(row);
+                    continue;
+                }
+                if (run != null) {
+                    run.addPatternTo(patterns);
+                }
+                run = new PatternRun(row);
+            }
+            if (run != null) {
+                run.addPatternTo(patterns);
+            }
+        }
+        return patterns;
+    }
+
+    @Override
+    @Transactional
+    public int postDueOccurrences(LocalDate today, int batchSize) {
+        List<RecurringRule> selected = recurringRuleRepository.findDueForUpdate(today, PageRequest.of(0, batchSize));
+        if (selected.isEmpty()) {
+            return 0;
+        }
+        // A shard migration flagged after the query above: its users' rules stay due, the next query skips them
+        Set<Long> postableUsers = new HashSet<>(userRepository.lockNotMigrating(
+                selected.stream().map(rule -> rule.getUser().getId()).collect(Collectors.toSet())));
+        List<RecurringRule> dueRules = selected.stream()
+                .filter(rule -> postableUsers.contains(rule.getUser().getId()))
+                .toList();
+
+        // Earliest occurrence first across the whole batch, so catching up after downtime posts in date order
+        PriorityQueue<RecurringRule> queue = new PriorityQueue<>(
+                Comparator.comparing(RecurringRule::getNextRunDate).thenComparing(RecurringRule::getId));
+        queue.addAll(dueRules);
+
+        // Locked like every other balance write, so postings cannot lose a concurrent transfer's update.
+        // Soft-deleted accounts are not returned and stop their rules instead of posting one side only.
+        Set<Long> accountIds = new HashSet<>();
+        for (RecurringRule rule : dueRules) {
+            accountIds.add(rule.getAccount().getId());
+            if (rule.getTransferAccountId() != null) {
+                accountIds.add(rule.getTransferAccountId());
+            }
+        }
+        Map<Long, Account> accounts = accountIds.isEmpty() ? Map.of()
+                : accountRepository.findByIdInForUpdate(accountIds).stream()
+                        .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        List<Transaction> postings = new ArrayList<>();
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+
+        while (!queue.isEmpty()) {
+            RecurringRule rule = queue.poll();
+            LocalDate occurrence = rule.getNextRunDate();
+            if (rule.getEndDate() != null && occurrence.isAfter(rule.getEndDate())) {
+                rule.setActive(false);
+                continue;
+            }
+            Account account = accounts.get(rule.getAccount().getId());
+            Account destination = rule.getTransferAccountId() != null ? accounts.get(rule.getTransferAccountId()) : null;
+            if (account == null || (rule.getTransferAccountId() != null && destination == null)) {
+                rule.setActive(false);
+                continue;
+            }
+
+            // A transfer the source cannot cover is skipped like a bounced standing order; the rule moves on
+            if (destination != null && account.getBalance()
+                    .add(balanceDeltas.getOrDefault(account.getId(), BigDecimal.ZERO))
+                    .compareTo(rule.getAmount()) < 0) {
+                log.warn("Skipping recurring transfer {} on {}: insufficient balance in account {}",
+                        rule.getId(), occurrence, account.getId());
+            } else {
+                postings.add(toTransaction(rule, occurrence));
+                balanceDeltas.merge(account.getId(), rule.getType().balanceDelta(rule.getAmount()), BigDecimal::add);
+                if (destination != null) {
+                    balanceDeltas.merge(destination.getId(), rule.getAmount(), BigDecimal::add);
+                }
+            }
+
+            // Advancing the rule in the same transaction as the posting is what makes reruns idempotent
+            rule.setNextRunDate(rule.getFrequency().nextAfter(rule.getStartDate(), occurrence));
+            if (!rule.getNextRunDate().isAfter(today)) {
+                queue.add(rule);
+            }
+        }
+
+        transactionRepository.saveAll(postings);
+        budgetService.applySpend(postings.stream().map(BudgetService.SpendChange::recorded).toList());
+        // One balance update per account, however many occurrences hit it
+        balanceDeltas.forEach((accountId, delta) -> {
+            Account account = accounts.get(accountId);
+            account.setBalance(account.getBalance().add(delta));
+        });
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_CREATED, postings);
+        postings.stream()
+                .collect(Collectors.groupingBy(posting -> posting.getUser().getId(),
+                        Collectors.mapping(TransactionRow::of, Collectors.toList())))
+                .forEach((userId, rows) -> {
+                    transactionColumnCache.transactionsChanged(userId, rows, List.of());
+                    invalidationBus.publish(userId, InvalidationScope.TRANSACTIONS, InvalidationScope.ACCOUNTS);
+                });
+        return selected.size();
+    }
+
+    private Transaction toTransaction(RecurringRule rule, LocalDate occurrence) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(rule.getAmount());
+        transaction.setType(rule.getType());
+        transaction.setDate(occurrence.atStartOfDay());
+        transaction.setDescription(rule.getDescription());
+        transaction.setCategory(rule.getCategory());
+        transaction.setCategoryId(rule.getCategoryId());
+        transaction.setAccount(rule.getAccount());
+        transaction.setTransferAccountId(rule.getTransferAccountId());
+        transaction.setUser(rule.getUser());
+        return transaction;
+    }
+
+    private RecurringRuleResponse mapToRecurringRuleResponse(RecurringRule rule) {
+        RecurringRuleResponse response = new RecurringRuleResponse();
+        response.setId(rule.getId());
+        response.setAmount(rule.getAmount());
+        response.setType(rule.getType());
+        response.setDescription(rule.getDescription());
+        response.setCategory(rule.getCategory());
+        response.setFrequency(rule.getFrequency());
+        response.setNextRunDate(rule.getNextRunDate());
+        response.setEndDate(rule.getEndDate());
+        response.setActive(rule.isActive());
+        response.setAccountId(rule.getAccount().getId());
+        response.setTransferAccountId(rule.getTransferAccountId());
+        response.setCreatedAt(rule.getCreatedAt());
+        response.setUpdatedAt(rule.getUpdatedAt());
+        return response;
+    }
+
+    // Maps the spread of observed gaps (in days) to the frequency that explains all of them
+    private static Frequency classify(long minInterval, long maxInterval) {
+        if (minInterval == 1 && maxInterval == 1) {
+            return Frequency.DAILY;
+        }
+        if (minInterval >= 6 && maxInterval <= 8) {
+            return Frequency.WEEKLY;
+        }
+        if (minInterval >= 13 && maxInterval <= 15) {
+            return Frequency.BIWEEKLY;
+        }
+        if (minInterval >= 28 && maxInterval <= 31) {
+            return Frequency.MONTHLY;
+        }
+        if (minInterval >= 360 && maxInterval <= 370) {
+            return Frequency.YEARLY;
+        }
+        return null;
+    }
+
+    private static class PatternRun {
+        private final String key;
+        private final TransactionPatternRow first;
+        private LocalDate lastDate;
+        private int occurrences = 1;
+        private long minInterval = Long.MAX_VALUE;
+        private long maxInterval = Long.MIN_VALUE;
+
+        PatternRun(TransactionPatternRow row) {
+            this.key = key(row.getDescription());
+            this.first = row;
+            this.lastDate = row.getDate().toLocalDate();
+        }
+
+        boolean matches(TransactionPatternRow row) {
+            return key.equals(key(row.getDescription()))
+                    && first.getAmount().compareTo(row.getAmount()) == 0
+                    && first.getType() == row.getType()
+                    && first.getAccountId().equals(row.getAccountId());
+        }
+
+        // lower(btrim(description)), the streaming order: String.trim() would also strip tabs and newlines
+        private static String key(String description) {
+            int start = 0;
+            int end = description.length();
+            while (start < end && description.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && description.charAt(end - 1) == ' ') {
+                end--;
+            }
+            return description.substring(start, end).toLowerCase(Locale.ROOT);
+        }
+
+        void add(TransactionPatternRow row) {
+            LocalDate date = row.getDate().toLocalDate();
+            long interval = ChronoUnit.DAYS.between(lastDate, date);
+            minInterval = Math.min(minInterval, interval);
+            maxInterval = Math.max(maxInterval, interval);
+            lastDate = date;
+            occurrences++;
+        }
+
+        void addPatternTo(List<RecurringPatternResponse> patterns) {
+            if (occurrences < MIN_PATTERN_OCCURRENCES) {
+                return;
+            }
+            Frequency frequency = classify(minInterval, maxInterval);
+            if (frequency == null) {
+                return;
+            }
+
+            RecurringPatternResponse pattern = new RecurringPatternResponse();
+            pattern.setDescription(first.getDescription());
+            pattern.setAmount(first.getAmount());
+            pattern.setType(first.getType());
+            pattern.setAccountId(first.getAccountId());
+            pattern.setFrequency(frequency);
+            pattern.setOccurrences(occurrences);
+            pattern.setLastDate(lastDate);
+            pattern.setNextExpectedDate(frequency.nextAfter(first.getDate().toLocalDate(), lastDate));
+            patterns.add(pattern);
+        }
+    }
+}
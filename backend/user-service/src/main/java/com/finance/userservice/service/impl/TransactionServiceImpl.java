@@ -1,121 +1,828 @@
 package com.finance.userservice.service.impl;
 
+import com.finance.userservice.analytics.TransactionColumnCache;
+import com.finance.userservice.analytics.TransactionColumns;
+import com.finance.userservice.archive.ArchivedColumns;
+import com.finance.userservice.archive.TransactionArchive;
+import com.finance.userservice.category.CategoryDictionary;
+import com.finance.userservice.category.CategoryDictionary.UserCategories;
+import com.finance.userservice.category.CategoryEntry;
+import com.finance.userservice.audit.Audited;
 import com.finance.userservice.dto.request.TransactionRequest;
+import com.finance.userservice.dto.request.TransactionUpdateItem;
+import com.finance.userservice.dto.request.TransferRequest;
+import com.finance.userservice.dto.response.BatchItemResult;
+import com.finance.userservice.dto.response.BatchResponse;
+import com.finance.userservice.dto.response.CategoryTotalResponse;
+import com.finance.userservice.dto.response.PageResponse;
 import com.finance.userservice.dto.response.TransactionResponse;
+import com.finance.userservice.dto.response.TransactionSummaryResponse;
 import com.finance.userservice.entity.Account;
+import com.finance.userservice.entity.Category;
+import com.finance.userservice.entity.OutboxEvent.EventType;
 import com.finance.userservice.entity.Transaction;
+import com.finance.userservice.entity.Transaction.TransactionType;
 import com.finance.userservice.entity.User;
 import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.money.Money;
+import com.finance.userservice.money.MoneyTotals;
+import com.finance.userservice.outbox.OutboxWriter;
 import com.finance.userservice.repository.AccountRepository;
 import com.finance.userservice.repository.TransactionRepository;
+import com.finance.userservice.repository.projection.AccountCurrencyRow;
+import com.finance.userservice.repository.projection.TransactionRow;
+import com.finance.userservice.repository.projection.TransactionTotalRow;
+import com.finance.userservice.service.BudgetService;
+import com.finance.userservice.service.BudgetService.SpendChange;
+import com.finance.userservice.service.CategoryService;
+import com.finance.userservice.service.FxRateService;
+import com.finance.userservice.service.FxRateSnapshot;
 import com.finance.userservice.service.TransactionService;
 import com.finance.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final String NOT_A_TRANSFER = "transferAccountId is only allowed on TRANSFER transactions";
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final UserService userService;
+    private final BudgetService budgetService;
+    private final FxRateService fxRateService;
+    private final TransactionArchive transactionArchive;
+    private final OutboxWriter outboxWriter;
+    private final TransactionColumnCache transactionColumnCache;
+    private final CategoryService categoryService;
+    private final CategoryDictionary categoryDictionary;
+    private final InvalidationBus invalidationBus;
 
     @Override
     @Transactional
+    @Audited(action = "CREATE", entityType = "TRANSACTION")
     public TransactionResponse createTransaction(TransactionRequest request) {
         User currentUser = userService.getCurrentUser();
-        Account account = accountRepository.findByIdAndUser(request.getAccountId(), currentUser)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getAccountId()));
+        Transaction savedTransaction;
+        if (request.getType() == TransactionType.TRANSFER) {
+            savedTransaction = postTransfer(currentUser, request);
+        } else {
+            if (request.getTransferAccountId() != null) {
+                throw new IllegalArgumentException(NOT_A_TRANSFER);
+            }
+            // Locked like every other balance write, so a concurrent transfer or batch cannot lose this delta
+            Account account = lockAccounts(currentUser, List.of(request.getAccountId())).get(request.getAccountId());
+            if (account == null) {
+                throw new ResourceNotFoundException("Account not found with id: " + request.getAccountId());
+            }
 
-        Transaction transaction = new Transaction();
-        transaction.setAmount(request.getAmount());
-        transaction.setType(request.getType());
-        transaction.setDate(request.getDate());
-        transaction.setDescription(request.getDescription());
-        transaction.setCategory(request.getCategory());
-        transaction.setAccount(account);
-        transaction.setUser(currentUser);
+            Transaction transaction = new Transaction();
+            transaction.setAmount(request.getAmount());
+            transaction.setType(request.getType());
+            transaction.setDate(request.getDate());
+            transaction.setDescription(request.getDescription());
+            applyCategory(transaction, categoryService.resolve(currentUser, request.getCategory()));
+            transaction.setAccount(account);
+            transaction.setUser(currentUser);
 
-        // Update account balance based on transaction type
-        updateAccountBalance(account, transaction);
+            // Update account balance based on transaction type
+            account.setBalance(account.getBalance().add(transaction.getType().balanceDelta(transaction.getAmount())));
+            accountRepository.save(account);
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+            savedTransaction = transactionRepository.save(transaction);
+        }
+        budgetService.recordTransaction(savedTransaction);
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_CREATED, List.of(savedTransaction));
+        transactionsChanged(currentUser.getId(), List.of(TransactionRow.of(savedTransaction)), List.of());
         return mapToTransactionResponse(savedTransaction);
     }
 
+    @Override
+    @Transactional
+    @Audited(action = "TRANSFER", entityType = "TRANSACTION")
+    public TransactionResponse createTransfer(TransferRequest request) {
+        return createTransaction(toTransactionRequest(request));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long id) {
         User currentUser = userService.getCurrentUser();
-        Transaction transaction = transactionRepository.findByIdAndAccountUser(id, currentUser)
+        Optional<Transaction> transaction = transactionRepository.findByIdAndAccountUser(id, currentUser);
+        if (transaction.isPresent()) {
+            return mapToTransactionResponse(transaction.get());
+        }
+        return transactionArchive.find(currentUser.getId(), id)
+                .filter(row -> accountRepository.findByIdAndUser(row.accountId(), currentUser).isPresent())
+                .map(this::mapToTransactionResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
-        return mapToTransactionResponse(transaction);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getAllTransactions() {
+    public List<TransactionResponse> getTransactionsByAccount(Long accountId) {
+        List<TransactionResponse> responses = new ArrayList<>();
+        forEachTransactionByAccount(accountId, row -> responses.add(mapToTransactionResponse(row)));
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTransaction(Consumer<TransactionRow> consumer) {
         User currentUser = userService.getCurrentUser();
-        return transactionRepository.findByAccountUser(currentUser).stream()
+        List<TransactionRow> archived = archivedRows(currentUser, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        forEachMerged(archived, transactionRepository.streamRowsByAccountUser(currentUser), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getRecentTransactions(int limit) {
+        User currentUser = userService.getCurrentUser();
+        return transactionRepository.findRecentRows(currentUser, PageRequest.of(0, limit)).stream()
                 .map(this::mapToTransactionResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getTransactionsByAccount(Long accountId) {
+    public void forEachTransactionByAccount(Long accountId, Consumer<TransactionRow> consumer) {
         User currentUser = userService.getCurrentUser();
         Account account = accountRepository.findByIdAndUser(accountId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
-        return transactionRepository.findByAccount(account).stream()
-                .map(this::mapToTransactionResponse)
+        List<TransactionRow> archived = archivedRows(currentUser, Integer.MIN_VALUE, Integer.MAX_VALUE).stream()
+                .filter(row -> row.accountId().equals(account.getId()) || account.getId().equals(row.transferAccountId()))
                 .collect(Collectors.toList());
+        forEachMerged(archived, transactionRepository.streamRowsByAccount(account), consumer);
     }
 
     @Override
     @Transactional
+    @Audited(action = "UPDATE", entityType = "TRANSACTION")
     public TransactionResponse updateTransaction(Long id, TransactionRequest request) {
         User currentUser = userService.getCurrentUser();
         Transaction existingTransaction = transactionRepository.findByIdAndAccountUser(id, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
-        Account newAccount = accountRepository.findByIdAndUser(request.getAccountId(), currentUser)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getAccountId()));
+        // Every account the old or the new version touches, locked in id order
+        Set<Long> accountIds = accountIdsOf(List.of(existingTransaction));
+        accountIds.addAll(requestedAccountIds(List.of(request)));
+        Map<Long, Account> accounts = lockAccounts(currentUser, accountIds);
+        Account newAccount = accounts.get(request.getAccountId());
+        if (newAccount == null) {
+            throw new ResourceNotFoundException("Account not found with id: " + request.getAccountId());
+        }
+        String transferError = transferError(request.getType(), request.getAccountId(), request.getTransferAccountId(),
+                currencies(accounts));
+        if (transferError != null) {
+            throw new IllegalArgumentException(transferError);
+        }
 
-        // Revert old transaction's effect on account balance
-        revertAccountBalance(existingTransaction.getAccount(), existingTransaction);
+        // Revert old transaction's effect on account balances and budget spend
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        mergeBalanceDeltas(balanceDeltas, existingTransaction, true);
+        if (request.getType() == TransactionType.TRANSFER && !covers(newAccount, request.getAmount(), balanceDeltas)) {
+            throw new IllegalArgumentException("Insufficient balance in account with id: " + newAccount.getId());
+        }
+        SpendChange reverted = SpendChange.reversed(existingTransaction);
 
         existingTransaction.setAmount(request.getAmount());
         existingTransaction.setType(request.getType());
         existingTransaction.setDate(request.getDate());
         existingTransaction.setDescription(request.getDescription());
-        existingTransaction.setCategory(request.getCategory());
+        applyCategory(existingTransaction, categoryService.resolve(currentUser, request.getCategory()));
         existingTransaction.setAccount(newAccount);
+        existingTransaction.setTransferAccountId(request.getTransferAccountId());
 
-        // Apply new transaction's effect on account balance
-        updateAccountBalance(newAccount, existingTransaction);
+        // Apply new transaction's effect on account balances
+        mergeBalanceDeltas(balanceDeltas, existingTransaction, false);
+        applyBalanceDeltas(accounts, balanceDeltas);
 
         Transaction updatedTransaction = transactionRepository.save(existingTransaction);
+        budgetService.applySpend(List.of(reverted, SpendChange.recorded(updatedTransaction)));
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_UPDATED, List.of(updatedTransaction));
+        transactionsChanged(currentUser.getId(), List.of(TransactionRow.of(updatedTransaction)), List.of());
         return mapToTransactionResponse(updatedTransaction);
     }
 
     @Override
     @Transactional
+    @Audited(action = "DELETE", entityType = "TRANSACTION")
     public void deleteTransaction(Long id) {
         User currentUser = userService.getCurrentUser();
         Transaction transaction = transactionRepository.findByIdAndAccountUser(id, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
-        // Revert transaction's effect on account balance
-        revertAccountBalance(transaction.getAccount(), transaction);
+        // Revert transaction's effect on account balances and budget spend
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        mergeBalanceDeltas(balanceDeltas, transaction, true);
+        applyBalanceDeltas(lockAccounts(currentUser, accountIdsOf(List.of(transaction))), balanceDeltas);
+        budgetService.reverseTransaction(transaction);
 
         transactionRepository.delete(transaction);
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_DELETED, List.of(transaction));
+        transactionsChanged(currentUser.getId(), List.of(), List.of(transaction.getId()));
+    }
+
+    @Override
+    @Transactional
+    @Audited(action = "BATCH_CREATE", entityType = "TRANSACTION")
+    public BatchResponse<TransactionResponse> createTransactions(List<TransactionRequest> requests) {
+        User currentUser = userService.getCurrentUser();
+        Map<Long, Account> accounts = lockAccounts(currentUser, requestedAccountIds(requests));
+        Map<Long, String> currencies = currencies(accounts);
+
+        Map<String, CategoryEntry> categories = categoryService.resolveAll(currentUser,
+                requests.stream().map(TransactionRequest::getCategory).filter(Objects::nonNull).toList());
+
+        List<BatchItemResult<TransactionResponse>> results = new ArrayList<>();
+        Map<Integer, Transaction> created = new LinkedHashMap<>();
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            Account account = accounts.get(request.getAccountId());
+            if (account == null) {
+                results.add(BatchItemResult.failure(i, "Account not found with id: " + request.getAccountId()));
+                continue;
+            }
+            String transferError = transferError(request.getType(), request.getAccountId(),
+                    request.getTransferAccountId(), currencies);
+            if (transferError != null) {
+                results.add(BatchItemResult.failure(i, transferError));
+                continue;
+            }
+            // Earlier items of the batch count: a run of transfers may not overdraw its source together either
+            if (request.getType() == TransactionType.TRANSFER && !covers(account, request.getAmount(), balanceDeltas)) {
+                results.add(BatchItemResult.failure(i, "Insufficient balance in account with id: " + account.getId()));
+                continue;
+            }
+
+            Transaction transaction = new Transaction();
+            transaction.setAmount(request.getAmount());
+            transaction.setType(request.getType());
+            transaction.setDate(request.getDate());
+            transaction.setDescription(request.getDescription());
+            applyCategory(transaction, categories.get(Category.normalize(request.getCategory())));
+            transaction.setAccount(account);
+            transaction.setTransferAccountId(request.getTransferAccountId());
+            transaction.setUser(currentUser);
+
+            mergeBalanceDeltas(balanceDeltas, transaction, false);
+            created.put(i, transaction);
+            results.add(BatchItemResult.success(i, null));
+        }
+
+        transactionRepository.saveAll(created.values());
+        budgetService.applySpend(created.values().stream().map(SpendChange::recorded).toList());
+        applyBalanceDeltas(accounts, balanceDeltas);
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_CREATED, created.values());
+        transactionsChanged(currentUser.getId(),
+                created.values().stream().map(TransactionRow::of).toList(), List.of());
+
+        for (BatchItemResult<TransactionResponse> result : results) {
+            if (result.isSuccess()) {
+                result.setResult(mapToTransactionResponse(created.get(result.getIndex())));
+            }
+        }
+        return BatchResponse.of(results);
+    }
+
+    @Override
+    @Transactional
+    @Audited(action = "BATCH_UPDATE", entityType = "TRANSACTION")
+    public BatchResponse<TransactionResponse> updateTransactions(List<TransactionUpdateItem> items) {
+        User currentUser = userService.getCurrentUser();
+        Map<Long, Transaction> transactions = transactionRepository.findByUserAndIdIn(currentUser,
+                        items.stream().map(TransactionUpdateItem::getId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        // Both the accounts being moved away from and the ones being moved to change balance
+        Set<Long> accountIds = accountIdsOf(transactions.values());
+        accountIds.addAll(requestedAccountIds(items));
+        Map<Long, Account> accounts = lockAccounts(currentUser, accountIds);
+        Map<Long, String> currencies = currencies(accounts);
+
+        Map<String, CategoryEntry> categories = categoryService.resolveAll(currentUser,
+                items.stream().map(TransactionUpdateItem::getCategory).filter(Objects::nonNull).toList());
+
+        List<BatchItemResult<TransactionResponse>> results = new ArrayList<>();
+        List<Transaction> updated = new ArrayList<>();
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        List<SpendChange> spendChanges = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            TransactionUpdateItem item = items.get(i);
+            Transaction transaction = transactions.get(item.getId());
+            if (transaction == null) {
+                results.add(BatchItemResult.failure(i, "Transaction not found with id: " + item.getId()));
+                continue;
+            }
+            Account newAccount = accounts.get(item.getAccountId());
+            if (newAccount == null) {
+                results.add(BatchItemResult.failure(i, "Account not found with id: " + item.getAccountId()));
+                continue;
+            }
+            String transferError = transferError(item.getType(), item.getAccountId(), item.getTransferAccountId(), currencies);
+            if (transferError != null) {
+                results.add(BatchItemResult.failure(i, transferError));
+                continue;
+            }
+            if (item.getType() == TransactionType.TRANSFER) {
+                // As if this row were already reverted, on top of the earlier items
+                Map<Long, BigDecimal> pending = new HashMap<>(balanceDeltas);
+                mergeBalanceDeltas(pending, transaction, true);
+                if (!covers(newAccount, item.getAmount(), pending)) {
+                    results.add(BatchItemResult.failure(i, "Insufficient balance in account with id: " + newAccount.getId()));
+                    continue;
+                }
+            }
+
+            mergeBalanceDeltas(balanceDeltas, transaction, true);
+            spendChanges.add(SpendChange.reversed(transaction));
+
+            transaction.setAmount(item.getAmount());
+            transaction.setType(item.getType());
+            transaction.setDate(item.getDate());
+            transaction.setDescription(item.getDescription());
+            applyCategory(transaction, categories.get(Category.normalize(item.getCategory())));
+            transaction.setAccount(newAccount);
+            transaction.setTransferAccountId(item.getTransferAccountId());
+
+            mergeBalanceDeltas(balanceDeltas, transaction, false);
+            spendChanges.add(SpendChange.recorded(transaction));
+            updated.add(transaction);
+            results.add(BatchItemResult.success(i, null));
+        }
+
+        applyBalanceDeltas(accounts, balanceDeltas);
+        budgetService.applySpend(spendChanges);
+        transactionRepository.saveAllAndFlush(updated);
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_UPDATED, updated);
+        transactionsChanged(currentUser.getId(),
+                updated.stream().map(TransactionRow::of).toList(), List.of());
+
+        // Map after the flush so every response carries the final state and timestamps
+        for (BatchItemResult<TransactionResponse> result : results) {
+            if (result.isSuccess()) {
+                result.setResult(mapToTransactionResponse(transactions.get(items.get(result.getIndex()).getId())));
+            }
+        }
+        return BatchResponse.of(results);
+    }
+
+    @Override
+    @Transactional
+    @Audited(action = "BATCH_DELETE", entityType = "TRANSACTION")
+    public BatchResponse<Long> deleteTransactions(List<Long> ids) {
+        User currentUser = userService.getCurrentUser();
+        Map<Long, Transaction> transactions = transactionRepository.findByUserAndIdIn(currentUser, ids).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        Map<Long, Account> accounts = lockAccounts(currentUser, accountIdsOf(transactions.values()));
+
+        List<BatchItemResult<Long>> results = new ArrayList<>();
+        List<Transaction> deleted = new ArrayList<>();
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        List<SpendChange> spendChanges = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            // remove() so a duplicated id in the same batch is only reverted once
+            Transaction transaction = transactions.remove(id);
+            if (transaction == null) {
+                results.add(BatchItemResult.failure(i, "Transaction not found with id: " + id));
+                continue;
+            }
+
+            mergeBalanceDeltas(balanceDeltas, transaction, true);
+            spendChanges.add(SpendChange.reversed(transaction));
+            deleted.add(transaction);
+            results.add(BatchItemResult.success(i, id));
+        }
+
+        applyBalanceDeltas(accounts, balanceDeltas);
+        budgetService.applySpend(spendChanges);
+        if (!deleted.isEmpty()) {
+            transactionRepository.deleteAllInBatch(deleted);
+        }
+        outboxWriter.transactionsChanged(EventType.TRANSACTION_DELETED, deleted);
+        transactionsChanged(currentUser.getId(), List.of(),
+                deleted.stream().map(Transaction::getId).toList());
+        return BatchResponse.of(results);
+    }
+
+    @Override
+    @Transactional
+    @Audited(action = "BATCH_TRANSFER", entityType = "TRANSACTION")
+    public BatchResponse<TransactionResponse> createTransfers(List<TransferRequest> requests) {
+        return createTransactions(requests.stream().map(TransactionServiceImpl::toTransactionRequest).toList());
+    }
+
+    private static TransactionRequest toTransactionRequest(TransferRequest transfer) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(transfer.getAmount());
+        request.setType(TransactionType.TRANSFER);
+        request.setDate(transfer.getDate());
+        request.setDescription(transfer.getDescription());
+        request.setCategory(transfer.getCategory());
+        request.setAccountId(transfer.getSourceAccountId());
+        request.setTransferAccountId(transfer.getDestinationAccountId());
+        return request;
+    }
+
+    // The row stores the id and the category's canonical spelling, whatever spelling the request used
+    private static void applyCategory(Transaction transaction, CategoryEntry category) {
+        transaction.setCategoryId(category != null ? category.id() : null);
+        transaction.setCategory(category != null ? category.name() : null);
+    }
+
+    // This instance's snapshot takes the rows; other instances drop the user's snapshot and balances
+    private void transactionsChanged(Long userId, Collection<TransactionRow> upserts, Collection<Long> removedIds) {
+        transactionColumnCache.transactionsChanged(userId, upserts, removedIds);
+        if (!upserts.isEmpty() || !removedIds.isEmpty()) {
+            invalidationBus.publish(userId, InvalidationScope.TRANSACTIONS, InvalidationScope.ACCOUNTS);
+        }
+    }
+
+    // One locking IN query for every account a batch touches, instead of a lookup per row
+    private Map<Long, Account> lockAccounts(User user, Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return accountRepository.findByUserAndIdInForUpdate(user, accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+    }
+
+    // Coalesced: each account is written once per batch, however many rows touched it. The soft-deleted
+    // destination of an old transfer is not among the locked accounts and keeps its frozen balance.
+    private void applyBalanceDeltas(Map<Long, Account> accounts, Map<Long, BigDecimal> balanceDeltas) {
+        balanceDeltas.forEach((accountId, delta) -> {
+            Account account = accounts.get(accountId);
+            if (account != null) {
+                account.setBalance(account.getBalance().add(delta));
+            }
+        });
+    }
+
+    // A single transfer is one row and one balance statement. Both accounts are locked in id order first,
+    // so two opposite transfers between the same pair queue up instead of deadlocking.
+    private Transaction postTransfer(User user, TransactionRequest request) {
+        Map<Long, String> currencies = accountRepository.lockCurrenciesByUserIdAndIdIn(user.getId(),
+                        requestedAccountIds(List.of(request))).stream()
+                .collect(Collectors.toMap(AccountCurrencyRow::getId, AccountCurrencyRow::getCurrency));
+        for (Long accountId : Arrays.asList(request.getAccountId(), request.getTransferAccountId())) {
+            if (accountId != null && !currencies.containsKey(accountId)) {
+                throw new ResourceNotFoundException("Account not found with id: " + accountId);
+            }
+        }
+        String transferError = transferError(request.getType(), request.getAccountId(), request.getTransferAccountId(),
+                currencies);
+        if (transferError != null) {
+            throw new IllegalArgumentException(transferError);
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setAmount(request.getAmount());
+        transaction.setType(request.getType());
+        transaction.setDate(request.getDate());
+        transaction.setDescription(request.getDescription());
+        applyCategory(transaction, categoryService.resolve(user, request.getCategory()));
+        // References only: transferBalance changes the rows behind Hibernate's back
+        transaction.setAccount(accountRepository.getReferenceById(request.getAccountId()));
+        transaction.setTransferAccountId(request.getTransferAccountId());
+        transaction.setUser(user);
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        if (accountRepository.transferBalance(request.getAccountId(), request.getTransferAccountId(), request.getAmount()) < 2) {
+            throw new IllegalArgumentException("Insufficient balance in account with id: " + request.getAccountId());
+        }
+        return savedTransaction;
+    }
+
+    // Null when type and transferAccountId fit together, otherwise why not. accountId must be among currencies.
+    private static String transferError(TransactionType type, Long accountId, Long transferAccountId,
+                                        Map<Long, String> currencies) {
+        if (type != TransactionType.TRANSFER) {
+            return transferAccountId == null ? null : NOT_A_TRANSFER;
+        }
+        if (transferAccountId == null) {
+            return "A TRANSFER needs a transferAccountId";
+        }
+        if (transferAccountId.equals(accountId)) {
+            return "A transfer needs two different accounts";
+        }
+        if (!currencies.containsKey(transferAccountId)) {
+            return "Account not found with id: " + transferAccountId;
+        }
+        if (!currencies.get(transferAccountId).equals(currencies.get(accountId))) {
+            return "Transfers between accounts in different currencies are not supported";
+        }
+        return null;
+    }
+
+    // Whether the source of a transfer still holds the amount once the not yet applied deltas are counted
+    private static boolean covers(Account source, BigDecimal amount, Map<Long, BigDecimal> balanceDeltas) {
+        return source.getBalance().add(balanceDeltas.getOrDefault(source.getId(), BigDecimal.ZERO)).compareTo(amount) >= 0;
+    }
+
+    // Signed effect of a row on each account it touches (both sides of a transfer); negated to revert it
+    private static void mergeBalanceDeltas(Map<Long, BigDecimal> balanceDeltas, Transaction transaction, boolean revert) {
+        BigDecimal delta = transaction.getType().balanceDelta(transaction.getAmount());
+        balanceDeltas.merge(transaction.getAccount().getId(), revert ? delta.negate() : delta, BigDecimal::add);
+        if (transaction.getTransferAccountId() != null) {
+            balanceDeltas.merge(transaction.getTransferAccountId(), revert ? delta : delta.negate(), BigDecimal::add);
+        }
+    }
+
+    private static Set<Long> accountIdsOf(Collection<Transaction> transactions) {
+        Set<Long> accountIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getAccount().getId());
+            if (transaction.getTransferAccountId() != null) {
+                accountIds.add(transaction.getTransferAccountId());
+            }
+        }
+        return accountIds;
+    }
+
+    private static Set<Long> requestedAccountIds(Collection<? extends TransactionRequest> requests) {
+        Set<Long> accountIds = new HashSet<>();
+        for (TransactionRequest request : requests) {
+            accountIds.add(request.getAccountId());
+            if (request.getTransferAccountId() != null) {
+                accountIds.add(request.getTransferAccountId());
+            }
+        }
+        return accountIds;
+    }
+
+    private static Map<Long, String> currencies(Map<Long, Account> accounts) {
+        Map<Long, String> currencies = new HashMap<>();
+        accounts.forEach((id, account) -> currencies.put(id, account.getCurrency()));
+        return currencies;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<TransactionResponse> searchTransactions(String query, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return new PageResponse<>(Collections.emptyList(), Math.max(page, 0), pageSize, 0, 0);
+        }
+
+        User currentUser = userService.getCurrentUser();
+        return PageResponse.from(transactionRepository
+                .search(currentUser.getId(), tsQuery, query.trim(), PageRequest.of(Math.max(page, 0), pageSize))
+                .map(this::mapToTransactionResponse));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSummaryResponse getTransactionSummary(LocalDate from, LocalDate to, String currency) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        User currentUser = userService.getCurrentUser();
+        FxRateSnapshot rates = fxRateService.getSnapshot();
+        String targetCurrency = currency != null ? FxRateSnapshot.normalize(currency) : rates.getBaseCurrency();
+        if (!rates.supports(targetCurrency)) {
+            throw new IllegalArgumentException("No exchange rate available for currency: " + currency);
+        }
+
+        MoneyTotals totals = new MoneyTotals(TransactionType.values().length);
+        if (transactionColumnCache.isEnabled()) {
+            sumFromColumns(currentUser, start, end, totals);
+        } else {
+            sumFromDatabase(currentUser, start, end, totals);
+        }
+        BigDecimal income = totals.converted(TransactionType.INCOME.ordinal(), rates, targetCurrency);
+        BigDecimal expense = totals.converted(TransactionType.EXPENSE.ordinal(), rates, targetCurrency);
+
+        TransactionSummaryResponse response = new TransactionSummaryResponse();
+        response.setCurrency(targetCurrency);
+        response.setFrom(start);
+        response.setTo(end);
+        response.setTotalIncome(income.setScale(2, RoundingMode.HALF_EVEN));
+        response.setTotalExpense(expense.setScale(2, RoundingMode.HALF_EVEN));
+        response.setNet(income.subtract(expense).setScale(2, RoundingMode.HALF_EVEN));
+        response.setRatesAsOf(rates.getAsOf());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryTotalResponse> getCategoryTotals(LocalDate from, LocalDate to, TransactionType type, String currency) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        TransactionType filterType = type != null ? type : TransactionType.EXPENSE;
+
+        User currentUser = userService.getCurrentUser();
+        FxRateSnapshot rates = fxRateService.getSnapshot();
+        String targetCurrency = currency != null ? FxRateSnapshot.normalize(currency) : rates.getBaseCurrency();
+        if (!rates.supports(targetCurrency)) {
+            throw new IllegalArgumentException("No exchange rate available for currency: " + currency);
+        }
+
+        // Group-by over the snapshot: one bucket per category code, the last one for uncategorised rows
+        TransactionColumns columns = columnsOf(currentUser);
+        int uncategorised = columns.categories().length;
+        MoneyTotals totals = new MoneyTotals(uncategorised + 1);
+        long[] counts = new long[uncategorised + 1];
+        int[] slotByAccount = currencySlots(currentUser, columns, totals);
+        int fromDay = (int) start.toEpochDay();
+        int toDay = (int) end.toEpochDay();
+        byte typeOrdinal = (byte) filterType.ordinal();
+
+        int[] days = columns.epochDays();
+        byte[] types = columns.types();
+        int[] accountCodes = columns.accountCodes();
+        int[] categoryCodes = columns.categoryCodes();
+        long[] amounts = columns.amounts();
+        for (int i = 0; i < columns.size(); i++) {
+            int slot = accountCodes[i] < 0 ? -1 : slotByAccount[accountCodes[i]];
+            if (slot < 0 || types[i] != typeOrdinal || days[i] < fromDay || days[i] > toDay) {
+                continue;
+            }
+            int bucket = categoryCodes[i] < 0 ? uncategorised : categoryCodes[i];
+            totals.add(slot, bucket, amounts[i]);
+            counts[bucket]++;
+        }
+
+        UserCategories categories = categoryDictionary.forUser(currentUser.getId());
+        List<CategoryTotalResponse> responses = new ArrayList<>();
+        for (int bucket = 0; bucket <= uncategorised; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            CategoryTotalResponse response = new CategoryTotalResponse();
+            if (bucket < uncategorised) {
+                CategoryEntry category = categories.byName(columns.categories()[bucket]);
+                response.setCategoryId(category != null ? category.id() : null);
+                response.setCategory(columns.categories()[bucket]);
+                response.setParentId(category != null ? category.parentId() : null);
+            }
+            response.setTotal(totals.converted(bucket, rates, targetCurrency).setScale(2, RoundingMode.HALF_EVEN));
+            response.setCount(counts[bucket]);
+            responses.add(response);
+        }
+        responses.sort(Comparator.comparing(CategoryTotalResponse::getTotal).reversed());
+        return responses;
+    }
+
+    // Both range ends are inclusive days, like the SQL path's [start, end + 1 day) bounds
+    private void sumFromColumns(User user, LocalDate start, LocalDate end, MoneyTotals totals) {
+        TransactionColumns columns = columnsOf(user);
+        int[] slotByAccount = currencySlots(user, columns, totals);
+        int fromDay = (int) start.toEpochDay();
+        int toDay = (int) end.toEpochDay();
+
+        int[] days = columns.epochDays();
+        byte[] types = columns.types();
+        int[] accountCodes = columns.accountCodes();
+        long[] amounts = columns.amounts();
+        for (int i = 0; i < columns.size(); i++) {
+            int slot = accountCodes[i] < 0 ? -1 : slotByAccount[accountCodes[i]];
+            if (slot >= 0 && days[i] >= fromDay && days[i] <= toDay) {
+                totals.add(slot, types[i], amounts[i]);
+            }
+        }
+    }
+
+    // Totals are grouped by currency in SQL and accumulated in minor units; conversion is one
+    // multiplication per currency and type when the response is built
+    private void sumFromDatabase(User user, LocalDate start, LocalDate end, MoneyTotals totals) {
+        LocalDateTime rangeStart = start.atStartOfDay();
+        LocalDateTime rangeEnd = end.plusDays(1).atStartOfDay();
+        for (TransactionTotalRow row : transactionRepository.sumByCurrencyAndTypeBetween(
+                user, rangeStart, rangeEnd)) {
+            totals.add(row.getCurrency(), row.getType().ordinal(), Money.toMinorUnits(row.getTotal()));
+        }
+
+        // Archived history is summed over the segments' primitive columns; only the years in range are opened
+        if (transactionArchive.hasSegments(user.getId())) {
+            Map<Long, Integer> slotsByAccount = new HashMap<>();
+            for (Account account : accountRepository.findByUser(user)) {
+                slotsByAccount.put(account.getId(), totals.slot(account.getCurrency()));
+            }
+            long fromMicros = ArchivedColumns.toMicros(rangeStart);
+            long toMicros = ArchivedColumns.toMicros(rangeEnd);
+            for (ArchivedColumns segment : transactionArchive.readColumns(
+                    user.getId(), start.getYear(), end.getYear())) {
+                // Soft-deleted accounts resolve to no slot, like @SQLRestriction filters them from the table
+                int[] slotByCode = new int[segment.accounts().length];
+                for (int code = 0; code < slotByCode.length; code++) {
+                    slotByCode[code] = slotsByAccount.getOrDefault(segment.accounts()[code], -1);
+                }
+                for (int i = 0; i < segment.size(); i++) {
+                    int code = segment.accountCodes()[i];
+                    long date = segment.dateMicros()[i];
+                    if (code < 0 || slotByCode[code] < 0 || date < fromMicros || date >= toMicros) {
+                        continue;
+                    }
+                    totals.add(slotByCode[code], segment.types()[i], segment.amounts()[i]);
+                }
+            }
+        }
+    }
+
+    // The user's whole history (archive and table) as a cached columnar snapshot. Category names go
+    // through the dictionary, which folds old archived spellings and shares one String per category.
+    private TransactionColumns columnsOf(User user) {
+        return transactionColumnCache.get(user.getId(), () -> {
+            UserCategories categories = categoryDictionary.forUser(user.getId());
+            TransactionColumns.Builder builder = TransactionColumns.builder();
+            forEachMerged(archivedRows(user, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                    transactionRepository.streamRowsByAccountUser(user), row -> {
+                        CategoryEntry category = row.category() != null ? categories.byName(row.category()) : null;
+                        builder.add(row, category != null ? category.name() : row.category());
+                    });
+            return builder.build();
+        });
+    }
+
+    // Currency slot per account code of the snapshot, resolved once per call; -1 for accounts
+    // deleted since the snapshot was taken
+    private int[] currencySlots(User user, TransactionColumns columns, MoneyTotals totals) {
+        Map<Long, String> currencies = accountRepository.findByUser(user).stream()
+                .collect(Collectors.toMap(Account::getId, Account::getCurrency));
+        int[] slots = new int[columns.accounts().length];
+        for (int code = 0; code < slots.length; code++) {
+            String accountCurrency = currencies.get(columns.accounts()[code]);
+            slots[code] = accountCurrency == null ? -1 : totals.slot(accountCurrency);
+        }
+        return slots;
+    }
+
+    // Turns free text into a prefix-matching tsquery ("coffee sho" -> "coffee:* & sho:*").
+    // Only letters and digits survive, so the result can never be a malformed tsquery.
+    private String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    // Archived rows of the user's live accounts. Rows of soft-deleted accounts stay in their
+    // segments until the user is purged, so they are filtered here like @SQLRestriction does for the table.
+    private List<TransactionRow> archivedRows(User user, int fromYear, int toYear) {
+        if (!transactionArchive.hasSegments(user.getId())) {
+            return Collections.emptyList();
+        }
+        Set<Long> liveAccountIds = accountRepository.findByUser(user).stream()
+                .map(Account::getId)
+                .collect(Collectors.toSet());
+        return transactionArchive.read(user.getId(), fromYear, toYear).stream()
+                .filter(row -> liveAccountIds.contains(row.accountId()))
+                .collect(Collectors.toList());
+    }
+
+    // Archived rows first, then the table; ids present in both (an archival run whose delete rolled back) are emitted once
+    private void forEachMerged(List<TransactionRow> archived, Stream<TransactionRow> hot, Consumer<TransactionRow> consumer) {
+        Set<Long> archivedIds = archived.stream().map(TransactionRow::id).collect(Collectors.toSet());
+        archived.forEach(consumer);
+        try (hot) {
+            hot.filter(row -> !archivedIds.contains(row.id())).forEach(consumer);
+        }
     }
 
     private TransactionResponse mapToTransactionResponse(Transaction transaction) {
@@ -127,43 +834,24 @@ public class TransactionServiceImpl implements TransactionService {
         response.setDescription(transaction.getDescription());
         response.setCategory(transaction.getCategory());
         response.setAccountId(transaction.getAccount().getId());
+        response.setTransferAccountId(transaction.getTransferAccountId());
         response.setCreatedAt(transaction.getCreatedAt());
         response.setUpdatedAt(transaction.getUpdatedAt());
         return response;
     }
 
-    private void updateAccountBalance(Account account, Transaction transaction) {
-        switch (transaction.getType()) {
-            case INCOME:
-                account.setBalance(account.getBalance().add(transaction.getAmount()));
-                break;
-            case EXPENSE:
-                account.setBalance(account.getBalance().subtract(transaction.getAmount()));
-                break;
-            case TRANSFER:
-                // Transfer logic would involve debiting one account and crediting another
-                // This is a simplified example, actual transfer would be more complex
-                // For now, we'll treat transfers as expenses from the source account
-                 account.setBalance(account.getBalance().subtract(transaction.getAmount()));
-                break;
-        }
-        accountRepository.save(account);
-    }
-
-    private void revertAccountBalance(Account account, Transaction transaction) {
-         switch (transaction.getType()) {
-            case INCOME:
-                account.setBalance(account.getBalance().subtract(transaction.getAmount()));
-                break;
-            case EXPENSE:
-                account.setBalance(account.getBalance().add(transaction.getAmount()));
-                break;
-            case TRANSFER:
-                 // Reverting a transfer would involve crediting the source account
-                 // This is a simplified example
-                 account.setBalance(account.getBalance().add(transaction.getAmount()));
-                break;
-        }
-        accountRepository.save(account);
-    }
-} 
\ No newline at end of file
+    private TransactionResponse mapToTransactionResponse(TransactionRow row) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(row.id());
+        response.setAmount(row.amount());
+        response.setType(row.type());
+        response.setDate(row.date());
+        response.setDescription(row.description());
+        response.setCategory(row.category());
+        response.setAccountId(row.accountId());
+        response.setTransferAccountId(row.transferAccountId());
+        response.setCreatedAt(row.createdAt());
+        response.setUpdatedAt(row.updatedAt());
+        return response;
+    }
+}
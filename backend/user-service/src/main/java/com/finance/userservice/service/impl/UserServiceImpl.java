@@ -1,19 +1,32 @@
 package com.finance.userservice.service.impl;
 
+import com.finance.userservice.audit.Audited;
+import com.finance.userservice.cache.Coalesced;
 import com.finance.userservice.dto.request.UserRegistrationRequest;
 import com.finance.userservice.dto.response.UserResponse;
-import com.finance.userservice.entity.OAuthProvider;
 import com.finance.userservice.entity.User;
+import com.finance.userservice.event.UserDeletedEvent;
+import com.finance.userservice.event.UserRegisteredEvent;
+import com.finance.userservice.event.UserUpdatedEvent;
+import com.finance.userservice.exception.EmailAlreadyExistsException;
 import com.finance.userservice.exception.ResourceNotFoundException;
+import com.finance.userservice.invalidation.InvalidationBus;
+import com.finance.userservice.invalidation.InvalidationScope;
+import com.finance.userservice.repository.AccountRepository;
 import com.finance.userservice.repository.OAuthProviderRepository;
+import com.finance.userservice.repository.RecurringRuleRepository;
 import com.finance.userservice.repository.UserRepository;
 import com.finance.userservice.service.UserService;
+import com.finance.userservice.sharding.DirectoryOnly;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -22,13 +35,19 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final OAuthProviderRepository oauthProviderRepository;
+    private final AccountRepository accountRepository;
+    private final RecurringRuleRepository recurringRuleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
 
     @Override
+    @DirectoryOnly
     @Transactional
+    @Audited(action = "REGISTER", entityType = "USER")
     public UserResponse registerUser(UserRegistrationRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
+        if (userRepository.existsByEmailIncludingDeleted(request.getEmail())) {
+            throw new EmailAlreadyExistsException("Email already exists");
         }
 
         User user = new User();
@@ -39,10 +58,12 @@ public class UserServiceImpl implements UserService {
         user.setEnabled(true);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId()));
         return mapToUserResponse(savedUser);
     }
 
     @Override
+    @DirectoryOnly
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -51,6 +72,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @DirectoryOnly
     @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
@@ -59,10 +81,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @DirectoryOnly
     @Transactional
+    @Audited(action = "UPDATE", entityType = "USER")
     public UserResponse updateUser(Long id, UserRegistrationRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        if (!user.getEmail().equals(request.getEmail()) && userRepository.existsByEmailIncludingDeleted(request.getEmail())) {
+            throw new EmailAlreadyExistsException("Email already exists");
+        }
 
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
@@ -72,18 +99,31 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(id));
+        invalidationBus.publish(id, InvalidationScope.USER);
         return mapToUserResponse(updatedUser);
     }
 
     @Override
+    @DirectoryOnly
     @Transactional
+    @Audited(action = "DELETE", entityType = "USER")
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+        // Soft delete: a few single-row updates hide the user and their data immediately;
+        // PurgeService removes the rows later in bounded batches
+        user.setDeletedAt(LocalDateTime.now());
+        accountRepository.softDeleteByUserId(id);
+        recurringRuleRepository.deactivateByUserId(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        invalidationBus.publishAll(id);
     }
 
+    // Not @DirectoryOnly: callers attach the result to per-user rows, so it must come from the
+    // caller's shard, where ShardDirectory keeps a copy of the profile row. Not @Coalesced either:
+    // the result is a managed entity, which must not be shared between requests.
     @Override
     @Transactional(readOnly = true)
     public User getCurrentUser() {
@@ -92,28 +132,46 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    // Backs /users/me: one directory query keyed on the principal, shared by concurrent identical calls
+    @Override
+    @DirectoryOnly
+    @Coalesced
+    @Transactional(readOnly = true)
+    public UserResponse getCurrentUserResponse() {
+        return getUserByEmail(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    // Returning users cost one query. First logins upsert by email, so concurrent first logins
+    // (across instances too) converge on a single user row and a single provider link.
     @Override
+    @DirectoryOnly
     @Transactional
-    public User findOrCreateOAuth2User(String email, String name, String provider) {
-        return userRepository.findByEmail(email)
-                .orElseGet(() -> {
-                    User user = new User();
-                    String[] nameParts = name.split(" ", 2);
-                    user.setFirstName(nameParts[0]);
-                    user.setLastName(nameParts.length > 1 ? nameParts[1] : "");
-                    user.setEmail(email);
-                    user.setEnabled(true);
-                    
-                    User savedUser = userRepository.save(user);
-                    
-                    OAuthProvider oauthProvider = new OAuthProvider();
-                    oauthProvider.setUser(savedUser);
-                    oauthProvider.setProvider(provider);
-                    oauthProvider.setProviderId(email);
-                    oauthProviderRepository.save(oauthProvider);
-                    
-                    return savedUser;
-                });
+    @Audited(action = "PROVISION_OAUTH2", entityType = "USER")
+    public UserResponse provisionOAuth2User(String provider, String providerId, String email, String name) {
+        Optional<User> linked = oauthProviderRepository.findUserByProviderAndProviderId(provider, providerId);
+        if (linked.isPresent()) {
+            return mapToUserResponse(linked.get());
+        }
+
+        String displayName = name != null && !name.isBlank() ? name.trim() : email.split("@", 2)[0];
+        String[] nameParts = displayName.split(" ", 2);
+        // Single-word names fill both parts; last_name is @NotBlank like first_name
+        Optional<Long> insertedId = userRepository.insertIfAbsent(
+                nameParts[0], nameParts.length > 1 ? nameParts[1].trim() : nameParts[0], email);
+        insertedId.ifPresent(id -> eventPublisher.publishEvent(new UserRegisteredEvent(id)));
+
+        // A conflicting insert waits for the other transaction, so the row is visible by now. Only a
+        // soft-deleted user is not: the email stays taken until PurgeService removes the row.
+        Long userId = insertedId.orElseGet(() -> userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new EmailAlreadyExistsException(
+                        "Email belongs to a deleted account that has not been removed yet")));
+        if (oauthProviderRepository.linkIfAbsent(provider, providerId, userId) > 0 && insertedId.isEmpty()) {
+            invalidationBus.publish(userId, InvalidationScope.USER);
+        }
+
+        return userRepository.findById(userId)
+                .map(this::mapToUserResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
     public UserResponse mapToUserResponse(User user) {
@@ -0,0 +1,41 @@
+package com.finance.userservice.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Maps user ids onto shards. Each shard owns many virtual points on the ring, so adding a
+// shard takes over roughly 1/N of the key space instead of reshuffling every user.
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shardIds, int virtualNodes) {
+        if (shardIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (String shardId : shardIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shardId + "#" + i), shardId);
+            }
+        }
+    }
+
+    public String shardFor(long userId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(Long.toString(userId)));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
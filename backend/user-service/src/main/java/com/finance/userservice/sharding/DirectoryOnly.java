@@ -0,0 +1,13 @@
+package com.finance.userservice.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks service methods that work on authoritative user profiles, which live on the directory
+// shard only. Has no effect when sharding is disabled.
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DirectoryOnly {
+}
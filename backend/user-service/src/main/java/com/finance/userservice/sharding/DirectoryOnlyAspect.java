@@ -0,0 +1,28 @@
+package com.finance.userservice.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Highest precedence so the shard is switched before @Transactional acquires a connection
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DirectoryOnlyAspect {
+
+    @Around("@annotation(com.finance.userservice.sharding.DirectoryOnly) || @within(com.finance.userservice.sharding.DirectoryOnly)")
+    public Object runOnDirectory(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = ShardContext.current();
+        ShardContext.clear();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous != null) {
+                ShardContext.bind(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.finance.userservice.sharding;
+
+// Shard the current thread's database work is routed to. Unbound means the directory shard.
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(String shardId) {
+        CURRENT.set(shardId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
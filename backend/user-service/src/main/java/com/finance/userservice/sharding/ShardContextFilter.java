@@ -0,0 +1,71 @@
+package com.finance.userservice.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.userservice.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Runs after JWT authentication and binds the caller's shard for the rest of the request
+@RequiredArgsConstructor
+public class ShardContextFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ShardDirectory shardDirectory;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ShardDirectory.Placement placement = shardDirectory.resolve(authentication.getName());
+        if (placement == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Writes are refused while the user's rows are being copied; reads keep hitting the source shard
+        if (placement.migrating() && !SAFE_METHODS.contains(request.getMethod())) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, shardDirectory.getPlacementTtl().toSeconds() * 2)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Service Unavailable",
+                    "Account data is being moved, please retry shortly",
+                    request.getRequestURI()));
+            return;
+        }
+
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            shardDirectory.syncProfile(placement);
+        }
+        ShardContext.bind(placement.shardId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+}
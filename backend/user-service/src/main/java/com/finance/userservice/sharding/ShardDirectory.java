@@ -0,0 +1,148 @@
+package com.finance.userservice.sharding;
+
+import com.finance.userservice.cache.LruTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Authoritative user -> shard placement, stored in user_shards on the directory shard.
+// Users without a row predate sharding and still live on the directory shard; new users are
+// pinned to their hash-ring shard at registration. Pins only move through ShardMigrationService,
+// so changing the shard list never strands existing data.
+@Slf4j
+public class ShardDirectory {
+
+    private static final String PLACEMENT_SQL =
+            "SELECT u.id, s.shard_id, COALESCE(s.migrating, false) AS migrating " +
+            "FROM users u LEFT JOIN user_shards s ON s.user_id = u.id WHERE u.email = ?";
+
+    private static final String PROFILE_SQL =
+            "SELECT id, first_name, last_name, email, password, enabled, created_at, updated_at FROM users WHERE id = ?";
+
+    // Shards keep a copy of the profile row so per-user foreign keys resolve locally
+    private static final String STUB_UPSERT_SQL =
+            "INSERT INTO users (id, first_name, last_name, email, password, enabled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET first_name = EXCLUDED.first_name, last_name = EXCLUDED.last_name, " +
+            "email = EXCLUDED.email, password = EXCLUDED.password, enabled = EXCLUDED.enabled, updated_at = EXCLUDED.updated_at " +
+            "WHERE (users.first_name, users.last_name, users.email, users.password, users.enabled) " +
+            "IS DISTINCT FROM (EXCLUDED.first_name, EXCLUDED.last_name, EXCLUDED.email, EXCLUDED.password, EXCLUDED.enabled)";
+
+    private final String directoryShardId;
+    private final Map<String, JdbcTemplate> shards;
+    private final ConsistentHashRing ring;
+    private final LruTtlCache<String, Placement> placements;
+    // Users whose profile copy was refreshed within the placement TTL
+    private final LruTtlCache<Long, Boolean> syncedProfiles;
+    private final Duration placementTtl;
+
+    public ShardDirectory(String directoryShardId, Map<String, JdbcTemplate> shards, ConsistentHashRing ring,
+                          int maxEntries, Duration placementTtl) {
+        this.directoryShardId = directoryShardId;
+        this.shards = shards;
+        this.ring = ring;
+        this.placements = new LruTtlCache<>(maxEntries, placementTtl);
+        this.syncedProfiles = new LruTtlCache<>(maxEntries, placementTtl);
+        this.placementTtl = placementTtl;
+    }
+
+    public record Placement(long userId, String shardId, boolean migrating) {
+    }
+
+    public String getDirectoryShardId() {
+        return directoryShardId;
+    }
+
+    public Duration getPlacementTtl() {
+        return placementTtl;
+    }
+
+    public JdbcTemplate jdbc(String shardId) {
+        JdbcTemplate jdbc = shards.get(shardId);
+        if (jdbc == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shardId);
+        }
+        return jdbc;
+    }
+
+    public Placement resolve(String email) {
+        Placement cached = placements.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Placement> rows = directory().query(PLACEMENT_SQL, (rs, rowNum) -> {
+            String shardId = rs.getString("shard_id");
+            return new Placement(rs.getLong("id"), shardId != null ? shardId : directoryShardId, rs.getBoolean("migrating"));
+        }, email);
+
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Placement placement = rows.get(0);
+        placements.put(email, placement);
+        return placement;
+    }
+
+    // Write paths only: reads never write to a shard. The copy is created when the user is pinned,
+    // refreshed on profile changes, and re-checked by the first write per placement TTL.
+    public void syncProfile(Placement placement) {
+        if (!placement.shardId().equals(directoryShardId) && syncedProfiles.get(placement.userId()) == null) {
+            copyProfile(placement.userId(), placement.shardId());
+        }
+    }
+
+    public void syncProfile(long userId) {
+        String shardId = shardOf(userId);
+        if (!shardId.equals(directoryShardId)) {
+            copyProfile(userId, shardId);
+        }
+    }
+
+    private void copyProfile(long userId, String shardId) {
+        JdbcTemplate shard = jdbc(shardId);
+        directory().query(PROFILE_SQL, rs -> {
+            shard.update(STUB_UPSERT_SQL, userId, rs.getString("first_name"), rs.getString("last_name"),
+                    rs.getString("email"), rs.getString("password"), rs.getBoolean("enabled"),
+                    rs.getTimestamp("created_at"), rs.getTimestamp("updated_at"));
+        }, userId);
+        syncedProfiles.put(userId, Boolean.TRUE);
+    }
+
+    public String shardOf(long userId) {
+        List<String> rows = directory().queryForList(
+                "SELECT shard_id FROM user_shards WHERE user_id = ?", String.class, userId);
+        return rows.isEmpty() ? directoryShardId : rows.get(0);
+    }
+
+    public String ringShardFor(long userId) {
+        return ring.shardFor(userId);
+    }
+
+    public void assign(long userId) {
+        directory().update("INSERT INTO user_shards (user_id, shard_id) VALUES (?, ?) ON CONFLICT (user_id) DO NOTHING",
+                userId, ring.shardFor(userId));
+    }
+
+    public void setMigrating(long userId, boolean migrating) {
+        directory().update(
+                "INSERT INTO user_shards (user_id, shard_id, migrating) VALUES (?, ?, ?) " +
+                "ON CONFLICT (user_id) DO UPDATE SET migrating = EXCLUDED.migrating, updated_at = now()",
+                userId, directoryShardId, migrating);
+    }
+
+    public void repoint(long userId, String shardId) {
+        directory().update("UPDATE user_shards SET shard_id = ?, updated_at = now() WHERE user_id = ?", shardId, userId);
+    }
+
+    public List<Long> allUserIds() {
+        return directory().queryForList("SELECT id FROM users ORDER BY id", Long.class);
+    }
+
+    private JdbcTemplate directory() {
+        return shards.get(directoryShardId);
+    }
+}
@@ -0,0 +1,6 @@
+package com.finance.userservice.sharding;
+
+// Runs background work once per shard with the shard bound, e.g. jobs that scan all users.
+public interface ShardExecutor {
+    void forEachShard(Runnable task);
+}
@@ -0,0 +1,171 @@
+package com.finance.userservice.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Moves one user's rows to another shard while the service keeps running:
+// block writes (HTTP through the directory flag, background jobs through the flag on the source
+// shard's users row), wait out cached placements, drain the user's outbox events, copy with ids
+// preserved, verify, repoint, wait again for stale readers, then delete the source copy.
+@Slf4j
+@RequiredArgsConstructor
+public class ShardMigrationService {
+
+    private static final Duration OUTBOX_DRAIN_TIMEOUT = Duration.ofMinutes(2);
+    private static final long OUTBOX_DRAIN_POLL_MS = 500;
+    private static final String BY_BUDGET = "budget_id IN (SELECT id FROM budgets WHERE user_id = ?)";
+
+    // Parent tables first; deletes run in reverse
+    private static final List<TableScope> USER_TABLES = List.of(
+            new TableScope("accounts", "user_id = ?", false),
+            new TableScope("categories", "user_id = ?", false),
+            new TableScope("recurring_rules", "user_id = ?", false),
+            new TableScope("budgets", "user_id = ?", false),
+            new TableScope("budget_spend", BY_BUDGET, false),
+            new TableScope("transactions", "user_id = ?", false),
+            new TableScope("idempotency_keys", "owner = ?", true));
+
+    private final ShardDirectory shardDirectory;
+    private final int batchSize;
+
+    private record TableScope(String table, String where, boolean byEmail) {
+    }
+
+    public boolean migrate(long userId, String targetShardId) {
+        String sourceShardId = shardDirectory.shardOf(userId);
+        if (sourceShardId.equals(targetShardId)) {
+            return false;
+        }
+        JdbcTemplate source = shardDirectory.jdbc(sourceShardId);
+        JdbcTemplate target = shardDirectory.jdbc(targetShardId);
+        JdbcTemplate directory = shardDirectory.jdbc(shardDirectory.getDirectoryShardId());
+        String email = directory.queryForObject("SELECT email FROM users WHERE id = ?", String.class, userId);
+
+        shardDirectory.setMigrating(userId, true);
+        boolean repointed = false;
+        try {
+            // Waits for background jobs that hold the user (UserRepository.lockNotMigrating); later runs skip them
+            setMigrating(source, userId, true);
+            awaitPlacementTtl();
+            // Events are not copied: the source relay delivers them first, so each account's events stay in order
+            awaitOutboxDrained(source, userId);
+
+            // Leftovers from an earlier failed attempt may be stale, so start from a clean target
+            deleteRows(target, userId, email);
+            if (!targetShardId.equals(shardDirectory.getDirectoryShardId())) {
+                copyRows(directory, target, "users", "id = ?", userId);
+            }
+            for (TableScope scope : USER_TABLES) {
+                Object key = scope.byEmail() ? email : userId;
+                int copied = copyRows(source, target, scope.table(), scope.where(), key);
+                int present = count(target, scope, key);
+                if (present != copied) {
+                    throw new IllegalStateException("Copy of " + scope.table() + " for user " + userId +
+                            " is incomplete: " + present + " of " + copied + " rows");
+                }
+            }
+            // The copied profile row carries the flag when the source is the directory
+            setMigrating(target, userId, false);
+            shardDirectory.repoint(userId, targetShardId);
+            repointed = true;
+        } finally {
+            if (!repointed) {
+                setMigrating(source, userId, false);
+            }
+            shardDirectory.setMigrating(userId, false);
+        }
+
+        awaitPlacementTtl();
+        deleteRows(source, userId, email);
+        // The source keeps the profile row (directory) or its copy, which must not stay flagged
+        setMigrating(source, userId, false);
+        log.info("Moved user {} from shard {} to {}", userId, sourceShardId, targetShardId);
+        return true;
+    }
+
+    private void setMigrating(JdbcTemplate jdbc, long userId, boolean migrating) {
+        jdbc.update("UPDATE users SET migrating = ? WHERE id = ?", migrating, userId);
+    }
+
+    private void awaitOutboxDrained(JdbcTemplate source, long userId) {
+        long deadline = System.nanoTime() + OUTBOX_DRAIN_TIMEOUT.toNanos();
+        while (true) {
+            Integer pending = source.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL " +
+                    "AND partition_key IN (SELECT CAST(id AS varchar) FROM accounts WHERE user_id = ?)",
+                    Integer.class, userId);
+            if (pending == null || pending == 0) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(pending + " outbox events of user " + userId +
+                        " are still unpublished after " + OUTBOX_DRAIN_TIMEOUT);
+            }
+            try {
+                Thread.sleep(OUTBOX_DRAIN_POLL_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while draining the outbox of user " + userId, ex);
+            }
+        }
+    }
+
+    private int copyRows(JdbcTemplate source, JdbcTemplate target, String table, String where, Object key) {
+        List<String> columns = target.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND is_generated = 'NEVER' " +
+                "ORDER BY ordinal_position", String.class, table);
+        int idIndex = columns.indexOf("id");
+        String columnList = String.join(", ", columns);
+        String insert = "INSERT INTO " + table + " (" + columnList + ") VALUES (" +
+                String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON CONFLICT (id) DO NOTHING";
+        String select = "SELECT " + columnList + " FROM " + table + " WHERE " + where + " AND id > ? ORDER BY id LIMIT ?";
+
+        int copied = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = source.query(select, (rs, rowNum) -> {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                return row;
+            }, key, lastId, batchSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            target.batchUpdate(insert, rows);
+            copied += rows.size();
+            lastId = ((Number) rows.get(rows.size() - 1)[idIndex]).longValue();
+        }
+    }
+
+    private int count(JdbcTemplate jdbc, TableScope scope, Object key) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM " + scope.table() + " WHERE " + scope.where(), Integer.class, key);
+        return count != null ? count : 0;
+    }
+
+    private void deleteRows(JdbcTemplate jdbc, long userId, String email) {
+        List<TableScope> reversed = new ArrayList<>(USER_TABLES);
+        Collections.reverse(reversed);
+        for (TableScope scope : reversed) {
+            jdbc.update("DELETE FROM " + scope.table() + " WHERE " + scope.where(), scope.byEmail() ? email : userId);
+        }
+    }
+
+    private void awaitPlacementTtl() {
+        try {
+            Thread.sleep(shardDirectory.getPlacementTtl().toMillis() + 500);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard placements to expire", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.finance.userservice.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+// Opt-in (sharding.rebalance.enabled) one-shot pass that moves every user whose pinned shard
+// differs from their hash-ring shard, e.g. after appending a shard or when first spreading
+// pre-sharding users off the directory. One user is moved at a time; failures are retried next run.
+@Slf4j
+@RequiredArgsConstructor
+public class ShardRebalanceRunner implements ApplicationRunner {
+
+    private final ShardDirectory shardDirectory;
+    private final ShardMigrationService shardMigrationService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int moved = 0;
+        int failed = 0;
+        for (Long userId : shardDirectory.allUserIds()) {
+            try {
+                if (shardMigrationService.migrate(userId, shardDirectory.ringShardFor(userId))) {
+                    moved++;
+                }
+            } catch (Exception ex) {
+                failed++;
+                log.error("Failed to move user {}", userId, ex);
+            }
+        }
+        log.info("Shard rebalance finished: {} users moved, {} failed", moved, failed);
+    }
+}
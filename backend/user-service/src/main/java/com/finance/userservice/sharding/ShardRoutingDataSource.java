@@ -0,0 +1,31 @@
+package com.finance.userservice.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final String directoryShardId;
+
+    public ShardRoutingDataSource(String directoryShardId) {
+        this.directoryShardId = directoryShardId;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shardId = ShardContext.current();
+        return shardId != null ? shardId : directoryShardId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.finance.userservice.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boot only migrates the directory shard. This replays Hibernate's update pass and schema.sql on
+// every other shard before the web server starts, then gives each shard a disjoint id range so
+// rows can be copied between shards with their ids intact.
+@Slf4j
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    static final long ID_RANGE_PER_SHARD = 1_000_000_000_000L;
+
+    // outbox_events too: its ids are the event ids consumers deduplicate on, across all shards
+    private static final List<String> SHARDED_TABLES = List.of("accounts", "categories", "transactions", "budgets",
+            "budget_spend", "recurring_rules", "idempotency_keys", "outbox_events");
+
+    private final ShardDirectory shardDirectory;
+    private final List<String> shardIds;
+    private final SchemaMetadataCapture metadataCapture;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, Object> settings = new HashMap<>(metadataCapture.getSessionFactory().getProperties());
+        settings.remove(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION);
+        settings.put(AvailableSettings.HBM2DDL_AUTO, "update");
+
+        for (int i = 0; i < shardIds.size(); i++) {
+            String shardId = shardIds.get(i);
+            if (!shardId.equals(shardDirectory.getDirectoryShardId())) {
+                ShardContext.bind(shardId);
+                try {
+                    SchemaManagementToolCoordinator.process(metadataCapture.getMetadata(),
+                            metadataCapture.getSessionFactory().getServiceRegistry(), settings, action -> { });
+                } finally {
+                    ShardContext.clear();
+                }
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
+                        .execute(shardDirectory.jdbc(shardId).getDataSource());
+            }
+            reserveIdRange(shardDirectory.jdbc(shardId), i * ID_RANGE_PER_SHARD);
+            log.info("Shard {} schema ready", shardId);
+        }
+    }
+
+    private void reserveIdRange(JdbcTemplate jdbc, long rangeStart) {
+        if (rangeStart == 0) {
+            return;
+        }
+        // Never moves a sequence backwards, so re-running on startup is harmless
+        for (String table : SHARDED_TABLES) {
+            jdbc.queryForObject(
+                    "SELECT setval(seq::regclass, GREATEST(?, COALESCE(pg_sequence_last_value(seq::regclass), 0) + 1, " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + ")), false) " +
+                    "FROM pg_get_serial_sequence(?, 'id') AS seq",
+                    Long.class, rangeStart + 1, table);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.finance.userservice.sharding;
+
+import com.finance.userservice.event.UserDeletedEvent;
+import com.finance.userservice.event.UserRegisteredEvent;
+import com.finance.userservice.event.UserUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@RequiredArgsConstructor
+public class ShardUserEventListener {
+
+    private final ShardDirectory shardDirectory;
+
+    // If the pin is lost (crash after commit) the user simply stays on the directory shard
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        shardDirectory.assign(event.userId());
+        shardDirectory.syncProfile(event.userId());
+    }
+
+    // Keeps the data shard's profile copy current; reads there never refresh it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        shardDirectory.syncProfile(event.userId());
+    }
+
+    // The profile was soft-deleted on the directory; mirror it on the shard that holds the data
+    // so that shard's purge run picks the user up
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        String shardId = shardDirectory.shardOf(event.userId());
+        if (shardId.equals(shardDirectory.getDirectoryShardId())) {
+            return;
+        }
+        JdbcTemplate shard = shardDirectory.jdbc(shardId);
+        shard.update("UPDATE users SET deleted_at = now() WHERE id = ? AND deleted_at IS NULL", event.userId());
+        shard.update("UPDATE accounts SET deleted_at = now() WHERE user_id = ? AND deleted_at IS NULL", event.userId());
+        shard.update("UPDATE recurring_rules SET is_active = false WHERE user_id = ?", event.userId());
+    }
+}
@@ -0,0 +1,92 @@
+-- Applied after Hibernate's ddl-auto pass (see spring.jpa.defer-datasource-initialization).
+-- Every statement must be idempotent because it runs on each startup.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Full-text search over transaction descriptions and categories
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, '') || ' ' || coalesce(category, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_transactions_search_vector ON transactions USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm ON transactions USING GIN (description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions (user_id, date DESC);
+
+-- Due-rule queue for the recurring posting job
+CREATE INDEX IF NOT EXISTS idx_recurring_rules_due ON recurring_rules (next_run_date, id) WHERE is_active;
+-- Occurrences are counted from start_date; rules older than the column anchor at their next occurrence
+UPDATE recurring_rules SET start_date = next_run_date WHERE start_date IS NULL;
+
+-- Expiry sweep for idempotency keys
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+
+-- Sharding: user -> shard placements (only read on the directory shard)
+CREATE TABLE IF NOT EXISTS user_shards (
+    user_id    BIGINT PRIMARY KEY,
+    shard_id   VARCHAR(64) NOT NULL,
+    migrating  BOOLEAN NOT NULL DEFAULT false,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- OAuth2 provisioning upserts provider links on (provider, provider_id)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_oauth_providers_provider_provider_id ON oauth_providers (provider, provider_id);
+
+-- Soft delete: the anti-join in Transaction's @SQLRestriction and the purge queue read only deleted rows
+CREATE INDEX IF NOT EXISTS idx_accounts_deleted ON accounts (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (id) WHERE deleted_at IS NOT NULL;
+
+-- Audit trail, appended in batches by the write-behind AuditLog
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP NOT NULL,
+    actor       VARCHAR(255) NOT NULL,
+    action      VARCHAR(64) NOT NULL,
+    entity_type VARCHAR(64) NOT NULL,
+    entity_id   BIGINT,
+    detail      VARCHAR(255)
+);
+CREATE INDEX IF NOT EXISTS idx_audit_log_actor_occurred_at ON audit_log (actor, occurred_at);
+
+-- Transactional outbox: the relay scans only undelivered events, in id order
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published_at ON outbox_events (published_at) WHERE published_at IS NOT NULL;
+
+-- Categories: link pre-existing free-text categories to per-user Category rows. Every statement only
+-- touches rows with no category_id yet, so re-running is a no-op once the backfill is done.
+-- category_trim is Java's String.trim() (Category.normalize): btrim would strip spaces only, not tabs or newlines.
+CREATE OR REPLACE FUNCTION category_trim(name text) RETURNS text LANGUAGE sql IMMUTABLE
+    AS 'SELECT regexp_replace(name, ''^[\x01-\x20]+|[\x01-\x20]+$'', '''', ''g'')';
+UPDATE transactions SET category = NULL WHERE category_id IS NULL AND category_trim(category) = '';
+UPDATE recurring_rules SET category = NULL WHERE category_id IS NULL AND category_trim(category) = '';
+INSERT INTO categories (user_id, name, normalized_name, created_at)
+SELECT DISTINCT ON (user_id, normalized_name) user_id, category_trim(category), normalized_name, now()
+FROM (
+    SELECT t.user_id, t.category, lower(category_trim(t.category)) AS normalized_name, t.date AS seen_at
+    FROM transactions t WHERE t.category_id IS NULL AND t.category IS NOT NULL
+    UNION ALL
+    SELECT r.user_id, r.category, lower(category_trim(r.category)), r.created_at
+    FROM recurring_rules r WHERE r.category_id IS NULL AND r.category IS NOT NULL
+    UNION ALL
+    SELECT b.user_id, b.category, lower(category_trim(b.category)), b.created_at
+    FROM budgets b WHERE b.category_id IS NULL
+) legacy
+ORDER BY user_id, normalized_name, seen_at DESC
+ON CONFLICT (user_id, normalized_name) DO NOTHING;
+UPDATE transactions t SET category_id = c.id, category = c.name
+FROM categories c
+WHERE t.category_id IS NULL AND c.user_id = t.user_id AND c.normalized_name = lower(category_trim(t.category));
+UPDATE recurring_rules r SET category_id = c.id, category = c.name
+FROM categories c
+WHERE r.category_id IS NULL AND c.user_id = r.user_id AND c.normalized_name = lower(category_trim(r.category));
+-- Budgets keep their own spelling: two legacy budgets differing only in case would collide on (user_id, category, period)
+UPDATE budgets b SET category_id = c.id
+FROM categories c
+WHERE b.category_id IS NULL AND c.user_id = b.user_id AND c.normalized_name = lower(category_trim(b.category));
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date ON transactions (user_id, category_id, date);
+
+-- Transfers: the destination side of an account's history, and the purge's detach step
+CREATE INDEX IF NOT EXISTS idx_transactions_transfer_account ON transactions (transfer_account_id) WHERE transfer_account_id IS NOT NULL;
+
+-- Read replica lag: ReplicaLagMonitor stamps this row on the primary and reads it back from the replica
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id          SMALLINT PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
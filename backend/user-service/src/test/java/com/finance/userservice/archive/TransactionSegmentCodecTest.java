@@ -0,0 +1,175 @@
+package com.finance.userservice.archive;
+
+import com.finance.userservice.entity.Transaction.TransactionType;
+import com.finance.userservice.repository.projection.TransactionRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSegmentCodecTest {
+
+    private static final LocalDateTime JAN_1 = LocalDateTime.of(2023, 1, 1, 9, 30, 15, 123_456_000);
+
+    @Test
+    void roundTripsEveryColumn() {
+        List<TransactionRow> rows = List.of(
+                row(10L, "12.50", TransactionType.EXPENSE, JAN_1, "Coffee", "Food", 1L, null, JAN_1, JAN_1.plusHours(1)),
+                row(11L, "1000.00", TransactionType.INCOME, JAN_1.plusDays(3), "Salary", null, 2L, null, JAN_1, null),
+                row(15L, "250.00", TransactionType.TRANSFER, JAN_1.plusDays(4), null, "Savings", 1L, 2L, JAN_1, null));
+
+        assertThat(decode(TransactionSegmentCodec.encode(rows))).isEqualTo(rows);
+    }
+
+    @Test
+    void keepsNullsApartFromValues() {
+        List<TransactionRow> rows = List.of(
+                row(1L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null),
+                row(2L, "1.00", TransactionType.EXPENSE, JAN_1, "", "", 1L, null, JAN_1, null));
+
+        List<TransactionRow> decoded = decode(TransactionSegmentCodec.encode(rows));
+
+        assertThat(decoded.get(0).description()).isNull();
+        assertThat(decoded.get(0).category()).isNull();
+        assertThat(decoded.get(0).updatedAt()).isNull();
+        assertThat(decoded.get(0).transferAccountId()).isNull();
+        assertThat(decoded.get(1).description()).isEmpty();
+        assertThat(decoded.get(1).category()).isEmpty();
+    }
+
+    @Test
+    void roundTripsNegativeDeltasAndValues() {
+        // Dates going backwards, an update stamped before creation, a negative amount and pre-epoch dates
+        LocalDateTime preEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        List<TransactionRow> rows = List.of(
+                row(100L, "-45.99", TransactionType.EXPENSE, JAN_1.plusDays(10), "Refund", "Food", 7L, null,
+                        JAN_1, JAN_1.minusMinutes(5)),
+                row(101L, "0.01", TransactionType.INCOME, preEpoch, "Old", "Food", 3L, null, preEpoch, null),
+                row(102L, "99999999999.99", TransactionType.EXPENSE, JAN_1, "Large", null, -1L, null, JAN_1, null));
+
+        assertThat(decode(TransactionSegmentCodec.encode(rows))).isEqualTo(rows);
+    }
+
+    @Test
+    void roundTripsAnEmptySegment() {
+        assertThat(decode(TransactionSegmentCodec.encode(List.of()))).isEmpty();
+        assertThat(TransactionSegmentCodec.decodeColumns(ByteBuffer.wrap(TransactionSegmentCodec.encode(List.of()))).size())
+                .isZero();
+    }
+
+    @Test
+    void decodesColumnsInMinorUnitsWithAccountDictionary() {
+        List<TransactionRow> rows = List.of(
+                row(1L, "12.50", TransactionType.EXPENSE, JAN_1, "a", null, 5L, null, JAN_1, null),
+                row(2L, "-3.00", TransactionType.INCOME, JAN_1.plusDays(1), "b", null, 9L, null, JAN_1, null),
+                row(3L, "7.25", TransactionType.EXPENSE, JAN_1.minusDays(1), "c", null, 5L, null, JAN_1, null));
+
+        ArchivedColumns columns = TransactionSegmentCodec.decodeColumns(ByteBuffer.wrap(TransactionSegmentCodec.encode(rows)));
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.ids()).containsExactly(1L, 2L, 3L);
+        assertThat(columns.amounts()).containsExactly(1250L, -300L, 725L);
+        assertThat(columns.types()).containsExactly((byte) TransactionType.EXPENSE.ordinal(),
+                (byte) TransactionType.INCOME.ordinal(), (byte) TransactionType.EXPENSE.ordinal());
+        assertThat(columns.dateMicros()).containsExactly(ArchivedColumns.toMicros(JAN_1),
+                ArchivedColumns.toMicros(JAN_1.plusDays(1)), ArchivedColumns.toMicros(JAN_1.minusDays(1)));
+        long[] accountIds = Arrays.stream(columns.accountCodes()).mapToLong(code -> columns.accounts()[code]).toArray();
+        assertThat(accountIds).containsExactly(5L, 9L, 5L);
+        assertThat(columns.accounts()).hasSize(2);
+    }
+
+    @Test
+    void readsVersionTwoSegmentsWithoutIdRange() {
+        List<TransactionRow> rows = List.of(
+                row(1L, "12.50", TransactionType.EXPENSE, JAN_1, "Coffee", "Food", 1L, null, JAN_1, null),
+                row(2L, "250.00", TransactionType.TRANSFER, JAN_1.plusDays(1), null, null, 1L, 2L, JAN_1, JAN_1));
+        byte[] v2 = toVersionTwo(TransactionSegmentCodec.encode(rows));
+
+        assertThat(decode(v2)).isEqualTo(rows);
+        assertThat(TransactionSegmentCodec.decodeColumns(ByteBuffer.wrap(v2)).ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void readsVersionOneSegmentsWithoutTransferColumn() {
+        List<TransactionRow> rows = List.of(
+                row(1L, "12.50", TransactionType.EXPENSE, JAN_1, "Coffee", "Food", 1L, null, JAN_1, null),
+                row(2L, "30.00", TransactionType.INCOME, JAN_1.plusDays(1), null, null, 2L, null, JAN_1, JAN_1));
+        byte[] v1 = toVersionOne(toVersionTwo(TransactionSegmentCodec.encode(rows)), rows.size());
+
+        assertThat(decode(v1)).isEqualTo(rows);
+        assertThat(TransactionSegmentCodec.decodeColumns(ByteBuffer.wrap(v1)).ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void idRangeBoundsLookups() {
+        byte[] segment = TransactionSegmentCodec.encode(List.of(
+                row(20L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null),
+                row(25L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null),
+                row(40L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null)));
+
+        assertThat(mayContain(segment, 20)).isTrue();
+        assertThat(mayContain(segment, 30)).isTrue();
+        assertThat(mayContain(segment, 40)).isTrue();
+        assertThat(mayContain(segment, 19)).isFalse();
+        assertThat(mayContain(segment, 41)).isFalse();
+        assertThat(mayContain(TransactionSegmentCodec.encode(List.of()), 0)).isFalse();
+    }
+
+    @Test
+    void legacySegmentsAreLookedUpThroughTheIdColumn() {
+        byte[] v2 = toVersionTwo(TransactionSegmentCodec.encode(List.of(
+                row(20L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null),
+                row(40L, "1.00", TransactionType.EXPENSE, JAN_1, null, null, 1L, null, JAN_1, null))));
+
+        assertThat(mayContain(v2, 20)).isTrue();
+        assertThat(mayContain(v2, 40)).isTrue();
+        assertThat(mayContain(v2, 30)).isFalse();
+        assertThat(mayContain(v2, 41)).isFalse();
+    }
+
+    @Test
+    void rejectsForeignData() {
+        ByteBuffer garbage = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 0});
+
+        assertThatThrownBy(() -> TransactionSegmentCodec.decode(garbage)).isInstanceOf(IllegalStateException.class);
+    }
+
+    // TXC2 is TXC3 without the id range after the row count; the tests keep the count and both ids
+    // below 64, so each of them is a single varint byte
+    private static byte[] toVersionTwo(byte[] v3) {
+        byte[] v2 = new byte[v3.length - 2];
+        System.arraycopy(v3, 0, v2, 0, 5);
+        System.arraycopy(v3, 7, v2, 5, v3.length - 7);
+        ByteBuffer.wrap(v2).putInt(0, 0x54584332);
+        return v2;
+    }
+
+    // TXC1 is TXC2 without the trailing transfer account dictionary; with no transfers that is one
+    // zero-length dictionary varint plus one zero code per row
+    private static byte[] toVersionOne(byte[] v2, int rowCount) {
+        byte[] v1 = Arrays.copyOf(v2, v2.length - 1 - rowCount);
+        ByteBuffer.wrap(v1).putInt(0, 0x54584331);
+        return v1;
+    }
+
+    private static boolean mayContain(byte[] segment, long id) {
+        return TransactionSegmentCodec.mayContain(ByteBuffer.wrap(segment), id);
+    }
+
+    private static List<TransactionRow> decode(byte[] encoded) {
+        return TransactionSegmentCodec.decode(ByteBuffer.wrap(encoded));
+    }
+
+    private static TransactionRow row(Long id, String amount, TransactionType type, LocalDateTime date, String description,
+                                      String category, Long accountId, Long transferAccountId,
+                                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new TransactionRow(id, new BigDecimal(amount), type, date, description, category, accountId,
+                transferAccountId, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,105 @@
+package com.finance.userservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer(1).capacity()).isEqualTo(4);
+        assertThat(new AuditRingBuffer(4).capacity()).isEqualTo(4);
+        assertThat(new AuditRingBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void rejectsOffersWhenFullUntilDrained() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event(i))).isTrue();
+        }
+
+        assertThat(buffer.offer(event(4))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer(event(5))).isTrue();
+        assertThat(buffer.offer(event(6))).isFalse();
+
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        assertThat(ids(drained)).containsExactly(0L, 1L, 2L, 3L, 5L);
+    }
+
+    @Test
+    void keepsFifoOrderAcrossWraparound() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEvent> drained = new ArrayList<>();
+        long next = 0;
+        // Uneven batches so head and tail cross the end of the ring at different offsets
+        for (int round = 0; round < 10; round++) {
+            int batch = round % 4 + 1;
+            for (int i = 0; i < batch; i++) {
+                assertThat(buffer.offer(event(next++))).isTrue();
+            }
+            buffer.drainTo(drained, round % 2 == 0 ? batch : Integer.MAX_VALUE);
+            assertThat(buffer.size()).isZero();
+        }
+
+        assertThat(ids(drained)).containsExactlyElementsOf(LongStream.range(0, next).boxed().toList());
+    }
+
+    @Test
+    void drainsNothingFromEmptyBuffer() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEvent> drained = new ArrayList<>();
+
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+        assertThat(drained).isEmpty();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(1 << 16);
+        int producers = 4;
+        int perProducer = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(event(base + i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        List<AuditEvent> drained = new ArrayList<>();
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        assertThat(ids(drained)).hasSize(producers * perProducer).doesNotHaveDuplicates();
+    }
+
+    private static AuditEvent event(long id) {
+        return new AuditEvent(Instant.EPOCH, "user@example.com", "CREATE", "Transaction", id, null);
+    }
+
+    private static List<Long> ids(List<AuditEvent> events) {
+        return events.stream().map(AuditEvent::entityId).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.finance.userservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruTtlCacheTest {
+
+    @Test
+    void returnsEntriesWithinTtl() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    void dropsExpiredEntriesOnRead() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ZERO);
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void expiresAfterTtlElapses() throws InterruptedException {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMillis(50));
+        cache.put("a", 1);
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        Thread.sleep(100);
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void putRestartsTtl() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("a", 2);
+
+        assertThat(cache.get("a")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Reading a makes b the eldest
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void evictsInInsertionOrderWithoutReads() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateAndClearRemoveEntries() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("b")).isNull();
+    }
+}
@@ -0,0 +1,140 @@
+package com.finance.userservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void followerReceivesLeaderResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "value";
+            }));
+            awaitCalls(calls);
+            AtomicReference<Thread> followerThread = new AtomicReference<>();
+            Future<String> follower = executor.submit(() -> {
+                followerThread.set(Thread.currentThread());
+                return singleFlight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return "own";
+                });
+            });
+            awaitParked(followerThread);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(calls).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void leaderFailurePropagatesSameExceptionToFollower() throws Exception {
+        IllegalStateException failure = new IllegalStateException("boom");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Throwable> leader = executor.submit(() -> catching(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                await(release);
+                throw failure;
+            })));
+            awaitCalls(calls);
+            AtomicReference<Thread> followerThread = new AtomicReference<>();
+            Future<Throwable> follower = executor.submit(() -> {
+                followerThread.set(Thread.currentThread());
+                return catching(() -> singleFlight.execute("key", () -> "own"));
+            });
+            awaitParked(followerThread);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+            assertThat(calls).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void leaderErrorIsRethrownUnwrapped() {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new AssertionError("fatal");
+        })).isInstanceOf(AssertionError.class).hasMessage("fatal");
+    }
+
+    @Test
+    void doesNotRetainResultsOrFailures() {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void differentKeysDoNotShareCalls() {
+        assertThat(singleFlight.execute("a", () -> singleFlight.execute("b", () -> "nested"))).isEqualTo("nested");
+    }
+
+    private static Throwable catching(Runnable call) {
+        try {
+            call.run();
+            return null;
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitCalls(AtomicInteger calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    // The follower parks only once it is waiting on the leader's result
+    private static void awaitParked(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread current = thread.get();
+            if (current != null && current.getState() == Thread.State.WAITING) {
+                return;
+            }
+            Thread.sleep(1);
+        }
+        throw new AssertionError("Follower never joined the leader");
+    }
+}
@@ -0,0 +1,68 @@
+package com.finance.userservice.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 10_000;
+
+    @Test
+    void requiresAtLeastOneShard() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void routesEveryUserToTheOnlyShard() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-a"), 100);
+
+        assertThat(LongStream.range(0, 100).mapToObj(ring::shardFor)).containsOnly("shard-a");
+    }
+
+    @Test
+    void isDeterministicAcrossInstancesAndShardOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c"), 100);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("shard-c", "shard-a", "shard-b"), 100);
+
+        for (long userId = 0; userId < USERS; userId++) {
+            assertThat(reordered.shardFor(userId)).isEqualTo(ring.shardFor(userId));
+        }
+    }
+
+    @Test
+    void spreadsUsersOverAllShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c"), 100);
+
+        Map<String, Long> counts = LongStream.range(0, USERS).mapToObj(ring::shardFor)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(counts).containsOnlyKeys("shard-a", "shard-b", "shard-c");
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 6L, USERS / 2L));
+    }
+
+    @Test
+    void addingShardOnlyMovesUsersOntoIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c"), 100);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c", "shard-d"), 100);
+
+        int moved = 0;
+        for (long userId = 0; userId < USERS; userId++) {
+            String shard = after.shardFor(userId);
+            if (!shard.equals(before.shardFor(userId))) {
+                assertThat(shard).isEqualTo("shard-d");
+                moved++;
+            }
+        }
+        // Roughly a quarter of the key space, nowhere near a full reshuffle
+        assertThat(moved).isBetween(USERS / 8, USERS * 2 / 5);
+    }
+}
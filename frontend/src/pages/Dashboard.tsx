@@ -1,11 +1,18 @@
 import { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
+import { dashboardService } from '../services/dashboardService';
 import type { UserResponse } from '../types/auth';
+import type { DashboardResponse } from '../types/dashboard';
+
+const formatMoney = (amount: number, currency: string) =>
+  new Intl.NumberFormat('en-US', { style: 'currency', currency }).format(amount);
 
 export default function Dashboard() {
   const { user, loading } = useAuth();
   const navigate = useNavigate();
+  const [dashboard, setDashboard] = useState<DashboardResponse | null>(null);
+  const [error, setError] = useState<string | null>(null);
 
   useEffect(() => {
     if (!loading && !user) {
@@ -13,6 +20,15 @@ export default function Dashboard() {
     }
   }, [user, loading, navigate]);
 
+  useEffect(() => {
+    if (!user) {
+      return;
+    }
+    dashboardService.getDashboard()
+      .then(setDashboard)
+      .catch(() => setError('Failed to load dashboard'));
+  }, [user]);
+
   if (loading) {
     return (
       <div className="flex items-center justify-center min-h-screen">
@@ -32,20 +48,73 @@ export default function Dashboard() {
       <div className="bg-white dark:bg-gray-800 rounded-lg shadow-md p-6 mb-6">
         <h2 className="text-xl font-semibold text-gray-900 dark:text-white mb-4">Welcome, {user.firstName}!</h2>
         <p className="text-gray-700 dark:text-gray-300">Here's a summary of your financial overview.</p>
-        {/* Add more dashboard content here */}
+        {error && <p className="mt-2 text-red-600 dark:text-red-400">{error}</p>}
+        {dashboard && (
+          <div className="grid grid-cols-1 md:grid-cols-3 gap-4 mt-4">
+            <div>
+              <p className="text-sm text-gray-500 dark:text-gray-400">Net worth</p>
+              <p className="text-lg font-semibold">
+                {formatMoney(dashboard.netWorth.netWorth, dashboard.netWorth.currency)}
+              </p>
+            </div>
+            <div>
+              <p className="text-sm text-gray-500 dark:text-gray-400">Income this month</p>
+              <p className="text-lg font-semibold text-green-600 dark:text-green-400">
+                {formatMoney(dashboard.monthToDate.totalIncome, dashboard.monthToDate.currency)}
+              </p>
+            </div>
+            <div>
+              <p className="text-sm text-gray-500 dark:text-gray-400">Expenses this month</p>
+              <p className="text-lg font-semibold text-red-600 dark:text-red-400">
+                {formatMoney(dashboard.monthToDate.totalExpense, dashboard.monthToDate.currency)}
+              </p>
+            </div>
+          </div>
+        )}
       </div>
 
       {/* Example of another card */}
       <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
         <div className="bg-white dark:bg-gray-800 rounded-lg shadow-md p-6">
           <h3 className="text-lg font-semibold text-gray-900 dark:text-white mb-4">Account Summary</h3>
-          <p className="text-gray-700 dark:text-gray-300">View your account balances and activities.</p>
-          {/* Add account summary content */}
+          {dashboard && dashboard.accounts.length > 0 ? (
+            <ul className="divide-y divide-gray-200 dark:divide-gray-700">
+              {dashboard.accounts.map((account) => (
+                <li key={account.id} className="py-2 flex justify-between text-gray-700 dark:text-gray-300">
+                  <span>{account.name}</span>
+                  <span className="font-medium">{formatMoney(account.balance, account.currency)}</span>
+                </li>
+              ))}
+            </ul>
+          ) : (
+            <p className="text-gray-700 dark:text-gray-300">View your account balances and activities.</p>
+          )}
         </div>
         <div className="bg-white dark:bg-gray-800 rounded-lg shadow-md p-6">
           <h3 className="text-lg font-semibold text-gray-900 dark:text-white mb-4">Recent Transactions</h3>
-          <p className="text-gray-700 dark:text-gray-300">See your latest income and expenses.</p>
-          {/* Add recent transactions content */}
+          {dashboard && dashboard.recentTransactions.length > 0 ? (
+            <ul className="divide-y divide-gray-200 dark:divide-gray-700">
+              {dashboard.recentTransactions.map((transaction) => (
+                <li key={transaction.id} className="py-2 flex justify-between text-gray-700 dark:text-gray-300">
+                  <span>
+                    {new Date(transaction.date).toLocaleDateString()} · {transaction.description || transaction.category || '-'}
+                  </span>
+                  <span
+                    className={`font-medium ${
+                      transaction.type === 'INCOME' ? 'text-green-600 dark:text-green-400' : 'text-red-600 dark:text-red-400'
+                    }`}
+                  >
+                    {formatMoney(
+                      transaction.amount,
+                      dashboard.accounts.find((acc) => acc.id === transaction.accountId)?.currency || 'USD',
+                    )}
+                  </span>
+                </li>
+              ))}
+            </ul>
+          ) : (
+            <p className="text-gray-700 dark:text-gray-300">See your latest income and expenses.</p>
+          )}
         </div>
       </div>
     </div>
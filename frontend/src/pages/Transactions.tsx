@@ -12,6 +12,7 @@ export default function Transactions() {
     const [error, setError] = useState<string | null>(null);
     const [accounts, setAccounts] = useState<AccountResponse[]>([]);
     const [selectedAccount, setSelectedAccount] = useState<number | 'all' | undefined>('all');
+    const [searchQuery, setSearchQuery] = useState('');
     const { user } = useAuth();
     const navigate = useNavigate();
 
@@ -29,6 +30,15 @@ export default function Transactions() {
         }
     }, [user, selectedAccount]); // Refetch when user or selectedAccount changes
 
+    useEffect(() => {
+        if (!user) {
+            return;
+        }
+        // Debounce so typing doesn't fire a request per keystroke
+        const timeout = setTimeout(() => fetchTransactions(), 300);
+        return () => clearTimeout(timeout);
+    }, [searchQuery]);
+
     const fetchAccounts = async () => {
         try {
             const data = await accountService.getAllAccounts();
@@ -42,7 +52,12 @@ export default function Transactions() {
         try {
             setLoading(true);
             let data: TransactionResponse[] = [];
-            if (selectedAccount === 'all') {
+            if (searchQuery.trim()) {
+                const page = await transactionService.searchTransactions(searchQuery.trim());
+                data = selectedAccount === 'all'
+                    ? page.content
+                    : page.content.filter(t => t.accountId === selectedAccount);
+            } else if (selectedAccount === 'all') {
                 data = await transactionService.getAllTransactions();
             } else if (selectedAccount !== undefined) {
                 data = await transactionService.getTransactionsByAccount(selectedAccount);
@@ -70,7 +85,8 @@ export default function Transactions() {
         }
     };
 
-    if (loading) {
+    // Keep the page mounted while searching so the search box doesn't lose focus
+    if (loading && !searchQuery) {
         return (
             <div className="flex justify-center items-center min-h-screen">
                 <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-blue-500 dark:border-blue-300"></div>
@@ -113,6 +129,18 @@ export default function Transactions() {
                 </select>
             </div>
 
+            <div className="mb-6">
+                <label htmlFor="transaction-search" className="block text-sm font-medium text-gray-700 dark:text-gray-300">Search:</label>
+                <input
+                    id="transaction-search"
+                    type="search"
+                    value={searchQuery}
+                    onChange={(e) => setSearchQuery(e.target.value)}
+                    placeholder="Description or category"
+                    className="mt-1 block w-full md:w-1/3 rounded-md border-gray-300 shadow-sm focus:border-blue-500 focus:ring-blue-500 dark:bg-gray-700 dark:border-gray-600 dark:text-white"
+                />
+            </div>
+
 
             <div className="overflow-x-auto bg-white dark:bg-gray-800 rounded-lg shadow-md">
                 <table className="min-w-full divide-y divide-gray-200 dark:divide-gray-700">
@@ -1,6 +1,7 @@
 import { api } from './api';
 import type { AccountResponse } from '../types/account';
 import type { AccountRequest } from '../types/account';
+import type { BatchResponse } from '../types/page';
 
 export const accountService = {
     createAccount: async (request: AccountRequest): Promise<AccountResponse> => {
@@ -8,6 +9,11 @@ export const accountService = {
         return response.data;
     },
 
+    createAccounts: async (requests: AccountRequest[]): Promise<BatchResponse<AccountResponse>> => {
+        const response = await api.post<BatchResponse<AccountResponse>>('/accounts/batch', { items: requests });
+        return response.data;
+    },
+
     updateAccount: async (id: number, request: AccountRequest): Promise<AccountResponse> => {
         const response = await api.put<AccountResponse>(`/accounts/${id}`, request);
         return response.data;
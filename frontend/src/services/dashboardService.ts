@@ -0,0 +1,10 @@
+import { api } from './api';
+import type { DashboardResponse } from '../types/dashboard';
+
+export const dashboardService = {
+    // One round-trip for every dashboard card; the server runs the sections in parallel
+    getDashboard: async (currency?: string): Promise<DashboardResponse> => {
+        const response = await api.get<DashboardResponse>('/dashboard', { params: { currency } });
+        return response.data;
+    },
+};
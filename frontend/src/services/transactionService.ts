@@ -1,9 +1,16 @@
 import { api } from './api';
 import type { TransactionRequest, TransactionResponse } from '../types/transaction';
+import type { BatchResponse, PageResponse } from '../types/page';
 
 export const transactionService = {
-    createTransaction: async (request: TransactionRequest): Promise<TransactionResponse> => {
-        const response = await api.post<TransactionResponse>('/transactions', request);
+    // Pass the same key when retrying so the server replays instead of posting twice
+    createTransaction: async (
+        request: TransactionRequest,
+        idempotencyKey: string = crypto.randomUUID(),
+    ): Promise<TransactionResponse> => {
+        const response = await api.post<TransactionResponse>('/transactions', request, {
+            headers: { 'Idempotency-Key': idempotencyKey },
+        });
         return response.data;
     },
 
@@ -30,4 +37,28 @@ export const transactionService = {
     deleteTransaction: async (id: number): Promise<void> => {
         await api.delete(`/transactions/${id}`);
     },
+
+    createTransactions: async (requests: TransactionRequest[]): Promise<BatchResponse<TransactionResponse>> => {
+        const response = await api.post<BatchResponse<TransactionResponse>>('/transactions/batch', { items: requests });
+        return response.data;
+    },
+
+    updateTransactions: async (
+        items: (TransactionRequest & { id: number })[],
+    ): Promise<BatchResponse<TransactionResponse>> => {
+        const response = await api.patch<BatchResponse<TransactionResponse>>('/transactions/batch', { items });
+        return response.data;
+    },
+
+    deleteTransactions: async (ids: number[]): Promise<BatchResponse<number>> => {
+        const response = await api.delete<BatchResponse<number>>('/transactions/batch', { data: { items: ids } });
+        return response.data;
+    },
+
+    searchTransactions: async (query: string, page = 0, size = 20): Promise<PageResponse<TransactionResponse>> => {
+        const response = await api.get<PageResponse<TransactionResponse>>('/transactions/search', {
+            params: { q: query, page, size },
+        });
+        return response.data;
+    },
 }; 
\ No newline at end of file
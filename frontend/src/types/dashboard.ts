@@ -0,0 +1,30 @@
+import type { AccountResponse } from './account';
+import type { UserResponse } from './auth';
+import type { TransactionResponse } from './transaction';
+
+export interface NetWorthResponse {
+    currency: string;
+    assets: number;
+    liabilities: number;
+    netWorth: number;
+    netWorthByCurrency: Record<string, number>;
+    ratesAsOf: string;
+}
+
+export interface TransactionSummaryResponse {
+    currency: string;
+    from: string;
+    to: string;
+    totalIncome: number;
+    totalExpense: number;
+    net: number;
+    ratesAsOf: string;
+}
+
+export interface DashboardResponse {
+    user: UserResponse;
+    accounts: AccountResponse[];
+    netWorth: NetWorthResponse;
+    recentTransactions: TransactionResponse[];
+    monthToDate: TransactionSummaryResponse;
+}
@@ -0,0 +1,20 @@
+export interface PageResponse<T> {
+    content: T[];
+    page: number;
+    size: number;
+    totalElements: number;
+    totalPages: number;
+}
+
+export interface BatchItemResult<T> {
+    index: number;
+    success: boolean;
+    result?: T;
+    error?: string;
+}
+
+export interface BatchResponse<T> {
+    succeeded: number;
+    failed: number;
+    results: BatchItemResult<T>[];
+}